@@ -0,0 +1,94 @@
+package de.MCmoderSD.riot.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.MCmoderSD.riot.objects.Account;
+import de.MCmoderSD.riot.objects.Entry;
+import de.MCmoderSD.riot.objects.Summoner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of the account, summoner and entry responses,
+ * streaming into the model objects and, for comparison, through a JSON tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+
+    // Attributes
+    private JsonFactory jsonFactory;
+    private ObjectMapper objectMapper;
+    private byte[] account;
+    private byte[] summoner;
+    private byte[] entries;
+
+    @Setup
+    public void setup() {
+        jsonFactory = new JsonFactory();
+        objectMapper = new ObjectMapper();
+        String puuid = Fixtures.puuid(Fixtures.GAME_NAME, Fixtures.TAG_LINE);
+        account = Fixtures.account(puuid, Fixtures.GAME_NAME, Fixtures.TAG_LINE);
+        summoner = Fixtures.summoner(puuid);
+        entries = Fixtures.entries("summoner-" + puuid);
+    }
+
+    @Benchmark
+    public Account streamAccount() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(account)) {
+            parser.nextToken();
+            return new Account(parser);
+        }
+    }
+
+    @Benchmark
+    public Summoner streamSummoner() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(summoner)) {
+            parser.nextToken();
+            return new Summoner(parser);
+        }
+    }
+
+    @Benchmark
+    public void streamEntries(Blackhole blackhole) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(entries)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) blackhole.consume(new Entry(parser));
+        }
+    }
+
+    @Benchmark
+    public Account treeAccount() throws IOException {
+        return new Account(objectMapper.readTree(account));
+    }
+
+    @Benchmark
+    public Summoner treeSummoner() throws IOException {
+        return new Summoner(objectMapper.readTree(summoner));
+    }
+
+    @Benchmark
+    public void treeEntries(Blackhole blackhole) throws IOException {
+        for (JsonNode node : objectMapper.readTree(entries)) blackhole.consume(new Entry(node));
+    }
+}
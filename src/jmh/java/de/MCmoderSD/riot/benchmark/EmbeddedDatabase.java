@@ -0,0 +1,58 @@
+package de.MCmoderSD.riot.benchmark;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import de.MCmoderSD.riot.database.SQL;
+import de.MCmoderSD.sql.Driver;
+
+/**
+ * Runs a throwaway MariaDB instance for the database benchmarks.
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    // Constants
+    private static final String DATABASE = "riot";
+
+    // Attributes
+    private final DB db;
+    private final SQL sql;
+
+    /**
+     * Starts a MariaDB instance on a free port and connects a database handler to it.
+     *
+     * @throws ManagedProcessException if the database could not be started
+     */
+    EmbeddedDatabase() throws ManagedProcessException {
+
+        // Start the database
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB(DATABASE);
+
+        // Connect
+        sql = new SQL(Driver.DatabaseType.MARIADB, "localhost", db.getConfiguration().getPort(), DATABASE, "root", "");
+    }
+
+    /**
+     * Returns the database handler connected to the instance.
+     *
+     * @return the database handler
+     */
+    SQL getSql() {
+        return sql;
+    }
+
+    /**
+     * Closes the connection pool and stops the instance.
+     *
+     * @throws ManagedProcessException if the database could not be stopped
+     */
+    @Override
+    public void close() throws ManagedProcessException {
+        sql.closePool();
+        db.stop();
+    }
+}
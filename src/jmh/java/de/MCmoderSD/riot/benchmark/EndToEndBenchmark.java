@@ -0,0 +1,79 @@
+package de.MCmoderSD.riot.benchmark;
+
+import de.MCmoderSD.riot.core.RiotAPI;
+import de.MCmoderSD.riot.enums.Cluster;
+import de.MCmoderSD.riot.enums.Region;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RiotAPI#getRank(String, String, Region)} against the stub server and an embedded MariaDB,
+ * with the in-memory caches enabled and disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class EndToEndBenchmark {
+
+    // Parameters
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param({"1000"})
+    public int players;
+
+    // Attributes
+    private EmbeddedDatabase database;
+    private StubServer stub;
+    private RiotAPI riotAPI;
+    private String[] gameNames;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new EmbeddedDatabase();
+        stub = new StubServer();
+        riotAPI = new RiotAPI("RGAPI-benchmark", Cluster.EUROPE, database.getSql());
+        riotAPI.setBaseUrl(stub.getUrl());
+        if (!cached) riotAPI.setEntryCache(Duration.ZERO, 1);
+
+        // Prime the database, so every run measures the same warm path
+        gameNames = new String[players];
+        for (int i = 0; i < players; i++) {
+            gameNames[i] = "Player" + i;
+            riotAPI.getRank(gameNames[i], Fixtures.TAG_LINE, Region.EUW1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        riotAPI.close();
+        stub.close();
+        database.close();
+    }
+
+    @Benchmark
+    public String getRank() {
+        return riotAPI.getRank(gameNames[ThreadLocalRandom.current().nextInt(players)], Fixtures.TAG_LINE, Region.EUW1);
+    }
+}
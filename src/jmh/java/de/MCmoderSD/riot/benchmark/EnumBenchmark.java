@@ -0,0 +1,68 @@
+package de.MCmoderSD.riot.benchmark;
+
+import de.MCmoderSD.riot.enums.Cluster;
+import de.MCmoderSD.riot.enums.QueueType;
+import de.MCmoderSD.riot.enums.Region;
+import de.MCmoderSD.riot.enums.Tier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving the enums from their API identifiers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumBenchmark {
+
+    // Parameters
+    @Param({"vn2", "EUW1"})
+    public String region;
+
+    @Param({"CHALLENGER", "gold"})
+    public String tier;
+
+    @Benchmark
+    public Region getRegion() {
+        return Region.getRegion(region);
+    }
+
+    @Benchmark
+    public Tier getTier() {
+        return Tier.getTier(tier);
+    }
+
+    @Benchmark
+    public Cluster getCluster() {
+        return Cluster.getCluster("europe");
+    }
+
+    @Benchmark
+    public QueueType getQueueType() {
+        return QueueType.getQueueType("RANKED_SOLO_5x5");
+    }
+
+    @Benchmark
+    public String getRegionUrl() {
+        return Region.EUW1.getUrl();
+    }
+
+    @Benchmark
+    public String[] getRegions() {
+        return Region.getRegions();
+    }
+}
@@ -0,0 +1,79 @@
+package de.MCmoderSD.riot.benchmark;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response bodies shaped like the ones of the Riot Games API.
+ */
+final class Fixtures {
+
+    // Constants
+    static final String GAME_NAME = "NattyNatt";
+    static final String TAG_LINE = "2005";
+
+    /**
+     * Prevents instantiation.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Returns the PUUID of a Riot ID.
+     *
+     * @param gameName the game name
+     * @param tagLine  the tag line
+     * @return a stable PUUID for the Riot ID
+     */
+    static String puuid(String gameName, String tagLine) {
+        return "puuid-" + gameName + "-" + tagLine;
+    }
+
+    /**
+     * Returns an account-v1 account body.
+     *
+     * @param puuid    the PUUID
+     * @param gameName the game name
+     * @param tagLine  the tag line
+     * @return the body
+     */
+    static byte[] account(String puuid, String gameName, String tagLine) {
+        return ("{\"puuid\":\"" + puuid + "\",\"gameName\":\"" + gameName + "\",\"tagLine\":\"" + tagLine + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a summoner-v4 summoner body.
+     *
+     * @param puuid the PUUID
+     * @return the body
+     */
+    static byte[] summoner(String puuid) {
+        return ("{\"id\":\"summoner-" + puuid + "\",\"accountId\":\"account-" + puuid + "\",\"puuid\":\"" + puuid + "\","
+                + "\"profileIconId\":4568,\"revisionDate\":1712345678000,\"summonerLevel\":412}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a league-v4 entries body with a Solo/Duo and a Flex entry.
+     *
+     * @param summonerId the summoner ID
+     * @return the body
+     */
+    static byte[] entries(String summonerId) {
+        return ("[" + entry(summonerId, "RANKED_FLEX_SR", "GOLD", "II", 37) + "," + entry(summonerId, "RANKED_SOLO_5x5", "EMERALD", "IV", 81) + "]").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a single league-v4 entry object.
+     *
+     * @param summonerId   the summoner ID
+     * @param queueType    the queue type
+     * @param tier         the tier
+     * @param rank         the rank
+     * @param leaguePoints the league points
+     * @return the entry object
+     */
+    private static String entry(String summonerId, String queueType, String tier, String rank, int leaguePoints) {
+        return "{\"leagueId\":\"5c8a0b36-3c4d-4a0e-9d0f-0b6d8d4c1a2e\",\"queueType\":\"" + queueType + "\",\"tier\":\"" + tier + "\","
+                + "\"rank\":\"" + rank + "\",\"summonerId\":\"" + summonerId + "\",\"leaguePoints\":" + leaguePoints + ","
+                + "\"wins\":128,\"losses\":119,\"veteran\":false,\"inactive\":false,\"freshBlood\":true,\"hotStreak\":false}";
+    }
+}
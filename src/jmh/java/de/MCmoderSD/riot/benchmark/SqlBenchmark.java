@@ -0,0 +1,107 @@
+package de.MCmoderSD.riot.benchmark;
+
+import de.MCmoderSD.riot.database.SQL;
+import de.MCmoderSD.riot.objects.Account;
+import de.MCmoderSD.riot.objects.RiotId;
+import de.MCmoderSD.riot.objects.Summoner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the stored lookups and upserts against an embedded MariaDB seeded with players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class SqlBenchmark {
+
+    // Constants
+    private static final int BULK_SIZE = 50;
+
+    // Parameters
+    @Param({"10000"})
+    public int players;
+
+    // Attributes
+    private EmbeddedDatabase database;
+    private SQL sql;
+    private RiotId[] riotIds;
+    private String[] puuids;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new EmbeddedDatabase();
+        sql = database.getSql();
+
+        // Seed the players
+        riotIds = new RiotId[players];
+        puuids = new String[players];
+        ArrayList<Account> accounts = new ArrayList<>(players);
+        ArrayList<Summoner> summoners = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            String gameName = "Player" + i;
+            String puuid = Fixtures.puuid(gameName, Fixtures.TAG_LINE);
+            riotIds[i] = new RiotId(gameName, Fixtures.TAG_LINE);
+            puuids[i] = puuid;
+            accounts.add(new Account(puuid, gameName, Fixtures.TAG_LINE));
+            summoners.add(new Summoner("summoner-" + puuid, "account-" + puuid, puuid, i % 5000, 30 + i % 500));
+        }
+        sql.addAccounts(accounts);
+        sql.addSummoners(summoners);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Summoner getSummonerByRiotId() {
+        RiotId riotId = riotIds[ThreadLocalRandom.current().nextInt(players)];
+        return sql.getSummoner(riotId.getGameName(), riotId.getTagLine());
+    }
+
+    @Benchmark
+    public Summoner getSummonerByPuuid() {
+        return sql.getSummoner(puuids[ThreadLocalRandom.current().nextInt(players)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public Map<RiotId, Summoner> getSummoners() {
+        int offset = ThreadLocalRandom.current().nextInt(players - BULK_SIZE);
+        return sql.getSummoners(Arrays.asList(riotIds).subList(offset, offset + BULK_SIZE));
+    }
+
+    @Benchmark
+    public void addSummoner() {
+        int i = ThreadLocalRandom.current().nextInt(players);
+        String puuid = puuids[i];
+        sql.addSummoner(new Summoner("summoner-" + puuid, "account-" + puuid, puuid, i % 5000, 30 + i % 500));
+    }
+}
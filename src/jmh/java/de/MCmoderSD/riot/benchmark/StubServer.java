@@ -0,0 +1,106 @@
+package de.MCmoderSD.riot.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the account, summoner and entry endpoints on the loopback interface,
+ * so the end-to-end benchmarks measure the client rather than the network.
+ * Every Riot ID exists and every response advertises a rate limit that is never reached.
+ */
+final class StubServer implements AutoCloseable {
+
+    // Constants
+    private static final String ACCOUNT_BY_RIOT_ID = "/riot/account/v1/accounts/by-riot-id/";
+    private static final String ACCOUNT_BY_PUUID = "/riot/account/v1/accounts/by-puuid/";
+    private static final String SUMMONER_BY_PUUID = "/lol/summoner/v4/summoners/by-puuid/";
+    private static final String ENTRIES_BY_SUMMONER = "/lol/league/v4/entries/by-summoner/";
+    private static final String APP_RATE_LIMIT = "1000000:1";
+
+    // Attributes
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Starts the server on a free port.
+     *
+     * @throws IOException if the server could not be bound
+     */
+    StubServer() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the server.
+     *
+     * @return the base URL without trailing slash
+     */
+    String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    /**
+     * Answers a request from the fixtures.
+     *
+     * @param exchange the exchange
+     * @throws IOException if the response could not be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+
+            // Route the request
+            String path = exchange.getRequestURI().getRawPath();
+            byte[] body = null;
+            if (path.startsWith(ACCOUNT_BY_RIOT_ID)) {
+                String[] riotId = path.substring(ACCOUNT_BY_RIOT_ID.length()).split("/", 2);
+                if (riotId.length == 2) {
+                    String gameName = URLDecoder.decode(riotId[0], StandardCharsets.UTF_8);
+                    String tagLine = URLDecoder.decode(riotId[1], StandardCharsets.UTF_8);
+                    body = Fixtures.account(Fixtures.puuid(gameName, tagLine), gameName, tagLine);
+                }
+            } else if (path.startsWith(ACCOUNT_BY_PUUID)) {
+                String puuid = path.substring(ACCOUNT_BY_PUUID.length());
+                String[] riotId = puuid.substring("puuid-".length()).split("-", 2);
+                if (riotId.length == 2) body = Fixtures.account(puuid, riotId[0], riotId[1]);
+            } else if (path.startsWith(SUMMONER_BY_PUUID)) {
+                body = Fixtures.summoner(path.substring(SUMMONER_BY_PUUID.length()));
+            } else if (path.startsWith(ENTRIES_BY_SUMMONER)) {
+                body = Fixtures.entries(path.substring(ENTRIES_BY_SUMMONER.length()));
+            }
+
+            // Send the response
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+            exchange.getResponseHeaders().set("X-App-Rate-Limit", APP_RATE_LIMIT);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
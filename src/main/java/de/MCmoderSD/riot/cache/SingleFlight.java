@@ -0,0 +1,65 @@
+package de.MCmoderSD.riot.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent operations with the same key into a single in-flight operation.
+ * The first caller for a key starts the operation, every caller that arrives while it
+ * is still running receives the same result.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+@SuppressWarnings("unused")
+public class SingleFlight<K, V> {
+
+    // Attributes
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight;
+
+    /**
+     * Constructs an empty SingleFlight.
+     */
+    public SingleFlight() {
+        inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Executes the operation for the given key, or joins the operation that is already in flight for it.
+     *
+     * @param key       the key of the operation
+     * @param operation the operation, only invoked if no operation for the key is in flight
+     * @return a future completing with the result of the shared operation
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> operation) {
+
+        // Join the operation in flight
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) return existing.copy();
+
+        // Start the operation
+        try {
+            operation.get().whenComplete((value, throwable) -> {
+                inFlight.remove(key, promise);
+                if (throwable != null) promise.completeExceptionally(throwable);
+                else promise.complete(value);
+            });
+        } catch (Throwable throwable) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(throwable);
+        }
+
+        return promise.copy();
+    }
+
+    /**
+     * Returns the number of operations currently in flight.
+     *
+     * @return the number of operations in flight
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,112 @@
+package de.MCmoderSD.riot.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe, size bounded in-memory cache whose values expire after a fixed time to live.
+ * When the cache is full the least recently used value is evicted.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+@SuppressWarnings("unused")
+public class TimedCache<K, V> {
+
+    // Attributes
+    private final long ttl;
+    private final int maxSize;
+    private final LinkedHashMap<K, Item<V>> items;
+
+    /**
+     * Constructs a TimedCache with the given time to live and maximum size.
+     *
+     * @param ttl     the time to live of a value
+     * @param maxSize the maximum number of values
+     * @throws IllegalArgumentException if the time to live is negative or the maximum size is not positive
+     */
+    public TimedCache(Duration ttl, int maxSize) {
+
+        // Check Parameters
+        if (ttl == null || ttl.isNegative()) throw new IllegalArgumentException("TTL must not be null or negative");
+        if (maxSize < 1) throw new IllegalArgumentException("Max size must be at least 1");
+
+        // Init Attributes
+        this.ttl = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.items = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Item<V>> eldest) {
+                return size() > TimedCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the value for the given key if it is present and not expired.
+     *
+     * @param key the key
+     * @return the value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Item<V> item = items.get(key);
+        if (item == null) return null;
+        if (System.nanoTime() - item.created < ttl) return item.value;
+        items.remove(key);
+        return null;
+    }
+
+    /**
+     * Stores a value for the given key.
+     *
+     * @param key   the key
+     * @param value the value, must not be null
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) throw new IllegalArgumentException("Value must not be null");
+        items.put(key, new Item<>(value, System.nanoTime()));
+    }
+
+    /**
+     * Removes the value for the given key.
+     *
+     * @param key the key
+     */
+    public synchronized void invalidate(K key) {
+        items.remove(key);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public synchronized void clear() {
+        items.clear();
+    }
+
+    /**
+     * Returns the number of stored values, including expired values that were not evicted yet.
+     *
+     * @return the number of stored values
+     */
+    public synchronized int size() {
+        return items.size();
+    }
+
+    /**
+     * A cached value with its creation time.
+     *
+     * @param <V> the value type
+     */
+    private static class Item<V> {
+
+        // Attributes
+        private final V value;
+        private final long created;
+
+        private Item(V value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
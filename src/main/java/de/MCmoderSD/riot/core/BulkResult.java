@@ -0,0 +1,97 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.objects.RiotId;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the per-item outcome of a bulk lookup.
+ * Every requested Riot ID ends up either in the results or in the errors.
+ *
+ * @param <T> the type of the looked up value
+ */
+@SuppressWarnings("unused")
+public class BulkResult<T> {
+
+    // Attributes
+    private final Map<RiotId, T> results;
+    private final Map<RiotId, Exception> errors;
+
+    /**
+     * Constructs an empty BulkResult.
+     */
+    BulkResult() {
+        results = new HashMap<>();
+        errors = new HashMap<>();
+    }
+
+    /**
+     * Records a successful lookup.
+     *
+     * @param riotId the Riot ID
+     * @param value  the value, may be null if nothing was found
+     */
+    synchronized void success(RiotId riotId, T value) {
+        results.put(riotId, value);
+    }
+
+    /**
+     * Records a failed lookup.
+     *
+     * @param riotId    the Riot ID
+     * @param exception the cause of the failure
+     */
+    synchronized void failure(RiotId riotId, Exception exception) {
+        errors.put(riotId, exception);
+    }
+
+    /**
+     * Returns the successful lookups. Values may be null if nothing was found.
+     *
+     * @return an unmodifiable map of the results
+     */
+    public synchronized Map<RiotId, T> getResults() {
+        return Collections.unmodifiableMap(new HashMap<>(results));
+    }
+
+    /**
+     * Returns the failed lookups.
+     *
+     * @return an unmodifiable map of the errors
+     */
+    public synchronized Map<RiotId, Exception> getErrors() {
+        return Collections.unmodifiableMap(new HashMap<>(errors));
+    }
+
+    /**
+     * Returns the value for the given Riot ID.
+     *
+     * @param riotId the Riot ID
+     * @return the value, or null if not found or failed
+     */
+    public synchronized T get(RiotId riotId) {
+        return results.get(riotId);
+    }
+
+    /**
+     * Returns the error for the given Riot ID.
+     *
+     * @param riotId the Riot ID
+     * @return the error, or null if the lookup succeeded
+     */
+    public synchronized Exception getError(RiotId riotId) {
+        return errors.get(riotId);
+    }
+
+    /**
+     * Returns whether the lookup for the given Riot ID succeeded.
+     *
+     * @param riotId the Riot ID
+     * @return true if the lookup succeeded, otherwise false
+     */
+    public synchronized boolean isSuccess(RiotId riotId) {
+        return results.containsKey(riotId);
+    }
+}
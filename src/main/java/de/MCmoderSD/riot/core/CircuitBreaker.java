@@ -0,0 +1,164 @@
+package de.MCmoderSD.riot.core;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the health of one region or cluster and rejects requests to it while it is failing.
+ * <ul>
+ *     <li>{@link State#CLOSED}: requests pass, their outcomes are recorded in a window of the most recent requests.
+ *     The circuit opens when the failure rate of the window reaches the threshold of the policy.</li>
+ *     <li>{@link State#OPEN}: requests are rejected without being sent until the open duration has passed.</li>
+ *     <li>{@link State#HALF_OPEN}: a single probe is let through, it closes the circuit on success and opens it again on failure.
+ *     A probe that has not reported within the open duration counts as failed, so a hung probe cannot keep the circuit half-open.</li>
+ * </ul>
+ * Instances are thread-safe.
+ */
+@SuppressWarnings("unused")
+public class CircuitBreaker {
+
+    // Attributes
+    private final CircuitBreakerPolicy policy;
+    private final LongSupplier clock;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final boolean[] window;
+    private State state;
+    private int position;
+    private int calls;
+    private int failures;
+    private long openUntil;
+    private long probeStart;
+
+    /**
+     * Constructs a closed CircuitBreaker.
+     *
+     * @param policy the policy deciding when the circuit opens
+     */
+    public CircuitBreaker(CircuitBreakerPolicy policy) {
+        this(policy, System::nanoTime);
+    }
+
+    /**
+     * Constructs a closed CircuitBreaker reading the time from the given clock.
+     *
+     * @param policy the policy deciding when the circuit opens
+     * @param clock  the clock returning the current time in nanoseconds
+     */
+    CircuitBreaker(CircuitBreakerPolicy policy, LongSupplier clock) {
+        this.policy = policy;
+        this.clock = clock;
+        slowCallNanos = policy.getSlowCallThreshold().toNanos();
+        openNanos = policy.getOpenDuration().toNanos();
+        window = new boolean[policy.getWindowSize()];
+        state = State.CLOSED;
+    }
+
+    /**
+     * Asks whether a request may be sent. An open circuit whose open duration has passed lets this request through as probe.
+     *
+     * @return true if the request may be sent, otherwise false
+     */
+    public synchronized boolean tryAcquire() {
+        long now = clock.getAsLong();
+        expireProbe(now);
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (now - openUntil < 0) yield false;
+                state = State.HALF_OPEN;
+                probeStart = now;
+                yield true;
+            }
+            case HALF_OPEN -> false;
+        };
+    }
+
+    /**
+     * Records the outcome of a request that was let through.
+     *
+     * @param failed whether the request failed
+     * @param nanos  the latency of the request in nanoseconds, counted as failure above the slow call threshold
+     */
+    public synchronized void record(boolean failed, long nanos) {
+        failed |= slowCallNanos > 0 && nanos > slowCallNanos;
+        switch (state) {
+            case CLOSED -> {
+
+                // Slide the window
+                if (calls == window.length) {
+                    if (window[position]) failures--;
+                } else calls++;
+                window[position] = failed;
+                if (failed) failures++;
+                position = (position + 1) % window.length;
+
+                // Open on too many failures
+                if (calls >= policy.getMinCalls() && failures >= policy.getFailureRate() * calls) open();
+            }
+            case HALF_OPEN -> {
+                if (failed) open();
+                else close();
+            }
+            case OPEN -> {
+                // Late outcomes of requests sent before the circuit opened are ignored
+            }
+        }
+    }
+
+    /**
+     * Returns the current state. An open circuit whose open duration has passed is still reported as open until the next request probes it.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        expireProbe(clock.getAsLong());
+        return state;
+    }
+
+    /**
+     * Checks whether requests are currently rejected.
+     *
+     * @return true if the circuit is open and its open duration has not passed, otherwise false
+     */
+    public synchronized boolean isOpen() {
+        long now = clock.getAsLong();
+        expireProbe(now);
+        return state == State.OPEN && now - openUntil < 0;
+    }
+
+    /**
+     * Counts a probe that has not reported within the open duration as failed and opens the circuit again.
+     *
+     * @param now the current time in nanoseconds
+     */
+    private void expireProbe(long now) {
+        if (state == State.HALF_OPEN && now - probeStart >= openNanos) open();
+    }
+
+    /**
+     * Opens the circuit for the open duration.
+     */
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + openNanos;
+    }
+
+    /**
+     * Closes the circuit and clears the window.
+     */
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        calls = 0;
+        failures = 0;
+    }
+
+    /**
+     * The state of a circuit.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
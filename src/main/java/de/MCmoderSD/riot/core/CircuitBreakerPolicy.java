@@ -0,0 +1,104 @@
+package de.MCmoderSD.riot.core;
+
+import java.time.Duration;
+
+/**
+ * Decides when the circuit breaker of a region or cluster opens, see {@link CircuitBreaker}.
+ * A request counts as failed if it fails with an I/O error, answers with a server error or takes longer than the slow call threshold.
+ * Rate limited requests and client errors count as successful, they say nothing about the health of the host.
+ */
+@SuppressWarnings("unused")
+public class CircuitBreakerPolicy {
+
+    // Constants
+    public static final CircuitBreakerPolicy DEFAULT = new CircuitBreakerPolicy(0.5, Duration.ofSeconds(3), 50, 20, Duration.ofSeconds(10));
+    public static final CircuitBreakerPolicy DISABLED = new CircuitBreakerPolicy(1, Duration.ZERO, 1, Integer.MAX_VALUE, Duration.ZERO);
+
+    // Attributes
+    private final double failureRate;
+    private final Duration slowCallThreshold;
+    private final int windowSize;
+    private final int minCalls;
+    private final Duration openDuration;
+
+    /**
+     * Constructs a CircuitBreakerPolicy.
+     *
+     * @param failureRate       the share of failed requests in the window that opens the circuit, between 0 and 1
+     * @param slowCallThreshold the latency after which a request counts as failed, {@link Duration#ZERO} to ignore latency
+     * @param windowSize        the number of most recent requests the failure rate is computed over
+     * @param minCalls          the number of requests in the window before the circuit can open
+     * @param openDuration      the time an open circuit rejects requests before it lets a probe through
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public CircuitBreakerPolicy(double failureRate, Duration slowCallThreshold, int windowSize, int minCalls, Duration openDuration) {
+
+        // Check Parameters
+        if (failureRate <= 0 || failureRate > 1) throw new IllegalArgumentException("Failure rate must be above 0 and at most 1");
+        if (slowCallThreshold == null || slowCallThreshold.isNegative()) throw new IllegalArgumentException("Slow call threshold must not be null or negative");
+        if (windowSize < 1) throw new IllegalArgumentException("Window size must be at least 1");
+        if (minCalls < 1) throw new IllegalArgumentException("Min calls must be at least 1");
+        if (openDuration == null || openDuration.isNegative()) throw new IllegalArgumentException("Open duration must not be null or negative");
+
+        // Init Attributes
+        this.failureRate = failureRate;
+        this.slowCallThreshold = slowCallThreshold;
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Checks whether a circuit can ever open under this policy.
+     *
+     * @return true if the window can reach the minimum number of requests, otherwise false
+     */
+    public boolean isEnabled() {
+        return minCalls <= windowSize;
+    }
+
+    /**
+     * Returns the share of failed requests that opens the circuit.
+     *
+     * @return the failure rate
+     */
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    /**
+     * Returns the latency after which a request counts as failed.
+     *
+     * @return the slow call threshold, {@link Duration#ZERO} if latency is ignored
+     */
+    public Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    /**
+     * Returns the number of most recent requests the failure rate is computed over.
+     *
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the number of requests in the window before the circuit can open.
+     *
+     * @return the minimum number of requests
+     */
+    public int getMinCalls() {
+        return minCalls;
+    }
+
+    /**
+     * Returns the time an open circuit rejects requests.
+     *
+     * @return the open duration
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+}
@@ -0,0 +1,106 @@
+package de.MCmoderSD.riot.core;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The endpoints of the Riot Games API used by this library.
+ * Every endpoint is a path template below the base URL of a region or cluster.
+ * Path segments are appended URL-encoded and the API key travels in a header,
+ * so a URI only depends on the endpoint and its parameters.
+ */
+enum Endpoint {
+
+    // Constants
+    ACCOUNT_BY_RIOT_ID("/riot/account/v1/accounts/by-riot-id/"),
+    ACCOUNT_BY_PUUID("/riot/account/v1/accounts/by-puuid/"),
+    SUMMONER_BY_PUUID("/lol/summoner/v4/summoners/by-puuid/"),
+    ENTRIES_BY_SUMMONER("/lol/league/v4/entries/by-summoner/"),
+    LEAGUE_ENTRIES("/lol/league/v4/entries/"),
+    CHALLENGER_LEAGUE("/lol/league/v4/challengerleagues/by-queue/"),
+    GRANDMASTER_LEAGUE("/lol/league/v4/grandmasterleagues/by-queue/"),
+    MASTER_LEAGUE("/lol/league/v4/masterleagues/by-queue/");
+
+    // Attributes
+    private final String path;
+
+    // Constructor
+    Endpoint(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the path of the endpoint, which is also its rate limit key.
+     *
+     * @return the path of the endpoint
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Builds the URI of the endpoint.
+     *
+     * @param baseUrl  the base URL of the region or cluster
+     * @param segments the path segments, joined by slashes
+     * @return the URI
+     */
+    URI uri(String baseUrl, String... segments) {
+        return URI.create(build(baseUrl, segments).toString());
+    }
+
+    /**
+     * Builds the URI of a paged endpoint.
+     *
+     * @param baseUrl  the base URL of the region or cluster
+     * @param page     the page, starting at 1
+     * @param segments the path segments, joined by slashes
+     * @return the URI
+     */
+    URI uri(String baseUrl, int page, String... segments) {
+        return URI.create(build(baseUrl, segments).append("?page=").append(page).toString());
+    }
+
+    /**
+     * Appends the path and the encoded segments to the base URL in a single presized buffer.
+     *
+     * @param baseUrl  the base URL of the region or cluster
+     * @param segments the path segments
+     * @return the buffer holding the URL
+     */
+    private StringBuilder build(String baseUrl, String[] segments) {
+
+        // Size the buffer
+        int length = baseUrl.length() + path.length() + segments.length + 8;
+        for (String segment : segments) length += segment.length();
+        StringBuilder url = new StringBuilder(length).append(baseUrl).append(path);
+
+        // Append the segments
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) url.append('/');
+            encode(url, segments[i]);
+        }
+
+        return url;
+    }
+
+    /**
+     * Appends a path segment, encoding it only if it contains characters outside the unreserved set.
+     * Riot IDs may contain spaces and non-ASCII characters, which are not valid in a raw URI.
+     *
+     * @param url     the buffer to append to
+     * @param segment the path segment
+     */
+    private static void encode(StringBuilder url, String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_' || c == '.' || c == '~';
+            if (!unreserved) {
+                url.append(URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"));
+                return;
+            }
+        }
+        url.append(segment);
+    }
+}
@@ -0,0 +1,224 @@
+package de.MCmoderSD.riot.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import javax.net.ssl.SSLSession;
+
+/**
+ * The default transport, backed by a {@link HttpClient}.
+ * Requests prefer HTTP/2, so all requests to a region or cluster are multiplexed over one connection.
+ * The read timeout bounds a request from sending it until its body has been read,
+ * so a hung upstream socket fails the request instead of blocking the caller.
+ * With gzip enabled, responses are requested compressed and decompressed transparently.
+ */
+@SuppressWarnings("unused")
+public class HttpTransport implements Transport {
+
+    // Constants
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String GZIP = "gzip";
+
+    // Attributes
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final boolean gzip;
+    private final boolean ownsClient;
+
+    /**
+     * Constructs a HttpTransport with its own client, preferring HTTP/2,
+     * with the default connect and read timeouts and gzip enabled.
+     */
+    public HttpTransport() {
+        this(newHttpClient(null, HttpClient.Version.HTTP_2, DEFAULT_CONNECT_TIMEOUT), DEFAULT_READ_TIMEOUT, true, true);
+    }
+
+    /**
+     * Constructs a HttpTransport on a shared client. The client is not closed with the transport.
+     *
+     * @param httpClient  the client to send the requests with
+     * @param readTimeout the maximum time from sending a request until its body has been read, or null for no limit
+     * @param gzip        whether to request compressed responses
+     * @throws IllegalArgumentException if the client is null or the timeout is not positive
+     */
+    public HttpTransport(HttpClient httpClient, Duration readTimeout, boolean gzip) {
+        this(httpClient, readTimeout, gzip, false);
+    }
+
+    /**
+     * Constructs a HttpTransport.
+     *
+     * @param httpClient  the client to send the requests with
+     * @param readTimeout the maximum time from sending a request until its body has been read, or null for no limit
+     * @param gzip        whether to request compressed responses
+     * @param ownsClient  whether the client is closed with the transport
+     * @throws IllegalArgumentException if the client is null or the timeout is not positive
+     */
+    HttpTransport(HttpClient httpClient, Duration readTimeout, boolean gzip, boolean ownsClient) {
+
+        // Check Parameters
+        if (httpClient == null) throw new IllegalArgumentException("HTTP client must not be null");
+        if (readTimeout != null && (readTimeout.isNegative() || readTimeout.isZero())) throw new IllegalArgumentException("Read timeout must be positive");
+
+        // Init Attributes
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.gzip = gzip;
+        this.ownsClient = ownsClient;
+    }
+
+    /**
+     * Creates a client for a HttpTransport.
+     *
+     * @param executor       the executor of the client, e.g. {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}, or null for the default executor
+     * @param version        the preferred HTTP version, HTTP/2 falls back to HTTP/1.1 if the server does not support it
+     * @param connectTimeout the maximum time to establish a connection, or null for no limit
+     * @return the client
+     * @throws IllegalArgumentException if the version is null or the timeout is not positive
+     */
+    public static HttpClient newHttpClient(Executor executor, HttpClient.Version version, Duration connectTimeout) {
+
+        // Check Parameters
+        if (version == null) throw new IllegalArgumentException("Version must not be null");
+        if (connectTimeout != null && (connectTimeout.isNegative() || connectTimeout.isZero())) throw new IllegalArgumentException("Connect timeout must be positive");
+
+        // Build the client
+        HttpClient.Builder builder = HttpClient.newBuilder().version(version);
+        if (executor != null) builder.executor(executor);
+        if (connectTimeout != null) builder.connectTimeout(connectTimeout);
+        return builder.build();
+    }
+
+    @Override
+    public HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (readTimeout != null) builder.timeout(readTimeout);
+        if (gzip) builder.header(ACCEPT_ENCODING, GZIP);
+        return builder;
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+
+        // Send the request
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<HttpResponse<byte[]>> response = exchange;
+
+        // Bound the time until the body has been read, the request timeout only covers the headers
+        if (readTimeout != null) response = exchange.copy().orTimeout(readTimeout.toNanos(), TimeUnit.NANOSECONDS).whenComplete((ignored, throwable) -> {
+            if (throwable instanceof TimeoutException) exchange.cancel(true);
+        });
+
+        // Decompress the body
+        return gzip ? response.thenApply(HttpTransport::decode) : response;
+    }
+
+    /**
+     * Closes the client if it was created by this transport. Requests in flight are completed first.
+     */
+    @Override
+    public void close() {
+        if (ownsClient) httpClient.close();
+    }
+
+    /**
+     * Returns the client of the transport.
+     *
+     * @return the client
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Decompresses a gzip encoded response.
+     *
+     * @param response the response
+     * @return the response with the decompressed body, or the response itself if it is not compressed
+     * @throws UncheckedIOException if the body is not valid gzip
+     */
+    private static HttpResponse<byte[]> decode(HttpResponse<byte[]> response) {
+        if (!GZIP.equalsIgnoreCase(response.headers().firstValue(CONTENT_ENCODING).orElse(null))) return response;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return new DecodedResponse(response, in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A response with a replaced body.
+     */
+    private static class DecodedResponse implements HttpResponse<byte[]> {
+
+        // Attributes
+        private final HttpResponse<byte[]> response;
+        private final byte[] body;
+
+        /**
+         * Constructs a DecodedResponse.
+         *
+         * @param response the original response
+         * @param body     the decoded body
+         */
+        private DecodedResponse(HttpResponse<byte[]> response, byte[] body) {
+            this.response = response;
+            this.body = body;
+        }
+
+        @Override
+        public byte[] body() {
+            return body;
+        }
+
+        @Override
+        public int statusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public HttpRequest request() {
+            return response.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<byte[]>> previousResponse() {
+            return response.previousResponse();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return response.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return response.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return response.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return response.version();
+        }
+    }
+}
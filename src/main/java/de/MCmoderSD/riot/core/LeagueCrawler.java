@@ -0,0 +1,461 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.database.SQL;
+import de.MCmoderSD.riot.enums.QueueType;
+import de.MCmoderSD.riot.enums.Region;
+import de.MCmoderSD.riot.enums.Tier;
+import de.MCmoderSD.riot.objects.Entry;
+
+import java.security.InvalidParameterException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crawls complete ranked ladders of one or more regions.
+ * <p>
+ * Every region is crawled on its own virtual thread, from Challenger down to Iron IV.
+ * The apex tiers are fetched as league lists, all other divisions page by page until an empty page is returned.
+ * Fetched pages are handed to a single consumer through a bounded queue, which feeds them into the {@link Sink}.
+ * If the sink falls behind, the queue fills up and the fetching threads wait, so memory stays bounded.
+ * After a page went through the sink it is recorded in the {@link Checkpoint}, so an interrupted crawl
+ * resumes after the last completed page of every ladder, and ladders that reached their end are skipped.
+ * Once every region was crawled completely the checkpoint is cleared, so the next crawl takes a fresh snapshot.
+ */
+@SuppressWarnings("unused")
+public class LeagueCrawler {
+
+    // Constants
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long OFFER_INTERVAL = 100;
+    private static final Tier[] APEX_TIERS = {Tier.CHALLENGER, Tier.GRANDMASTER, Tier.MASTER};
+    private static final Tier[] DIVISION_TIERS = {Tier.DIAMOND, Tier.EMERALD, Tier.PLATINUM, Tier.GOLD, Tier.SILVER, Tier.BRONZE, Tier.IRON};
+    private static final String[] DIVISIONS = {"I", "II", "III", "IV"};
+    private static final Page END = new Page(null, null, null, null, 0, List.of(), true);
+
+    // Associations
+    private final RiotAPI riotAPI;
+    private final Sink sink;
+    private final Checkpoint checkpoint;
+
+    // Attributes
+    private final int capacity;
+
+    /**
+     * Constructs a LeagueCrawler that keeps its progress in memory.
+     *
+     * @param riotAPI the API to fetch the ladders with
+     * @param sink    the sink receiving the fetched pages
+     */
+    public LeagueCrawler(RiotAPI riotAPI, Sink sink) {
+        this(riotAPI, sink, Checkpoint.inMemory(), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a LeagueCrawler.
+     *
+     * @param riotAPI    the API to fetch the ladders with
+     * @param sink       the sink receiving the fetched pages
+     * @param checkpoint the checkpoint recording the completed pages
+     * @param capacity   the maximum number of fetched pages waiting for the sink
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public LeagueCrawler(RiotAPI riotAPI, Sink sink, Checkpoint checkpoint, int capacity) {
+
+        // Check Parameters
+        if (riotAPI == null) throw new InvalidParameterException("RiotAPI must not be null");
+        if (sink == null) throw new InvalidParameterException("Sink must not be null");
+        if (checkpoint == null) throw new InvalidParameterException("Checkpoint must not be null");
+        if (capacity < 1) throw new InvalidParameterException("Capacity must be at least 1");
+
+        // Init Associations
+        this.riotAPI = riotAPI;
+        this.sink = sink;
+        this.checkpoint = checkpoint;
+
+        // Init Attributes
+        this.capacity = capacity;
+    }
+
+    /**
+     * Crawls the ladders of a queue in all given regions in parallel and blocks until they are done.
+     * A region that fails stops at the failed page and is reported, the other regions continue.
+     * Crawling again after a failure resumes after the last completed pages,
+     * after a complete crawl the checkpoint is cleared and the next crawl starts from the first pages.
+     *
+     * @param regions the regions to crawl
+     * @param queue   the queue type
+     * @return the failed regions and their errors, empty if every ladder was crawled completely
+     * @throws InterruptedException      if the crawl is interrupted
+     * @throws RuntimeException          if the sink fails, the crawl is stopped and can be resumed later
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public Map<Region, Exception> crawl(Collection<Region> regions, QueueType queue) throws InterruptedException {
+
+        // Check Parameters
+        if (regions == null || regions.isEmpty()) throw new InvalidParameterException("Regions must not be null or empty");
+        if (queue == null) throw new InvalidParameterException("Queue must not be null");
+
+        // Init the crawl
+        LinkedHashSet<Region> targets = new LinkedHashSet<>(regions);
+        ArrayBlockingQueue<Page> pages = new ArrayBlockingQueue<>(capacity);
+        ConcurrentHashMap<Region, Exception> errors = new ConcurrentHashMap<>();
+        Crawl crawl = new Crawl(pages);
+
+        // Fetch every region on its own thread
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Region region : targets) executor.execute(() -> {
+                try {
+                    crawl(crawl, region, queue);
+                } catch (InterruptedException e) {
+                    if (!crawl.aborted) errors.put(region, e);
+                } catch (Exception e) {
+                    errors.put(region, e);
+                } finally {
+                    try {
+                        crawl.put(END);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            // Consume the pages on the calling thread
+            try {
+                consume(pages, targets.size());
+            } catch (RuntimeException | InterruptedException e) {
+                crawl.aborted = true;
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+
+        // Start the next crawl from the first pages
+        if (errors.isEmpty()) checkpoint.clear();
+        return Collections.unmodifiableMap(new HashMap<>(errors));
+    }
+
+    /**
+     * Crawls all ladders of a region.
+     *
+     * @param crawl  the running crawl
+     * @param region the region to crawl
+     * @param queue  the queue type
+     * @throws Exception if a page cannot be fetched or the crawl was aborted
+     */
+    private void crawl(Crawl crawl, Region region, QueueType queue) throws Exception {
+
+        // Apex tiers
+        for (Tier tier : APEX_TIERS) {
+            if (checkpoint.getCompletedPage(key(region, queue, tier, DIVISIONS[0])) == Checkpoint.FINISHED) continue;
+            crawl.put(new Page(region, queue, tier, DIVISIONS[0], 1, riotAPI.getApexLeague(region, queue, tier), true));
+        }
+
+        // Paged divisions
+        for (Tier tier : DIVISION_TIERS) for (String division : DIVISIONS) {
+            int page = checkpoint.getCompletedPage(key(region, queue, tier, division));
+            if (page == Checkpoint.FINISHED) continue;
+            List<Entry> entries;
+            do {
+                entries = riotAPI.getLeagueEntries(region, queue, tier, division, ++page);
+                crawl.put(new Page(region, queue, tier, division, page, entries, entries.isEmpty()));
+            } while (!entries.isEmpty());
+        }
+    }
+
+    /**
+     * Feeds the fetched pages into the sink until every region is done.
+     *
+     * @param pages   the queue of fetched pages
+     * @param regions the number of crawled regions
+     * @throws InterruptedException if the crawl is interrupted
+     * @throws RuntimeException     if the sink fails
+     */
+    private void consume(ArrayBlockingQueue<Page> pages, int regions) throws InterruptedException {
+        int running = regions;
+        while (running > 0) {
+            Page page = pages.take();
+            if (page == END) {
+                running--;
+                continue;
+            }
+
+            // Write the page, empty pages only mark the end of a division
+            try {
+                if (!page.getEntries().isEmpty()) sink.accept(page);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to write page " + page.getNumber() + " of " + page.getKey() + ": " + e.getMessage(), e);
+            }
+
+            // Record the progress
+            checkpoint.setCompletedPage(page.getKey(), page.isLast() ? Checkpoint.FINISHED : page.getNumber());
+        }
+    }
+
+    /**
+     * Builds the checkpoint key of a ladder.
+     *
+     * @param region   the region
+     * @param queue    the queue type
+     * @param tier     the tier
+     * @param division the division
+     * @return the checkpoint key
+     */
+    static String key(Region region, QueueType queue, Tier tier, String division) {
+        return region.getRegion() + ":" + queue.getIdentifier() + ":" + tier.getIdentifier() + ":" + division;
+    }
+
+    /**
+     * The shared state of a running crawl.
+     */
+    private static class Crawl {
+
+        // Attributes
+        private final ArrayBlockingQueue<Page> pages;
+        private volatile boolean aborted;
+
+        /**
+         * Constructs a Crawl.
+         *
+         * @param pages the queue of fetched pages
+         */
+        private Crawl(ArrayBlockingQueue<Page> pages) {
+            this.pages = pages;
+        }
+
+        /**
+         * Hands a page to the consumer, waiting while the queue is full.
+         *
+         * @param page the page
+         * @throws InterruptedException if the crawl was aborted or the thread is interrupted
+         */
+        private void put(Page page) throws InterruptedException {
+            while (!pages.offer(page, OFFER_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (aborted) throw new InterruptedException("Crawl aborted");
+            }
+        }
+    }
+
+    /**
+     * A fetched page of a ladder.
+     */
+    public static class Page {
+
+        // Attributes
+        private final Region region;
+        private final QueueType queue;
+        private final Tier tier;
+        private final String division;
+        private final int number;
+        private final List<Entry> entries;
+        private final boolean last;
+
+        /**
+         * Constructs a Page.
+         *
+         * @param region   the region of the ladder
+         * @param queue    the queue type
+         * @param tier     the tier
+         * @param division the division, {@code I} for the apex tiers
+         * @param number   the page number, starting at 1
+         * @param entries  the entries of the page
+         * @param last     whether the page ends its ladder
+         */
+        private Page(Region region, QueueType queue, Tier tier, String division, int number, List<Entry> entries, boolean last) {
+            this.region = region;
+            this.queue = queue;
+            this.tier = tier;
+            this.division = division;
+            this.number = number;
+            this.entries = entries;
+            this.last = last;
+        }
+
+        /**
+         * Returns the region of the ladder.
+         *
+         * @return the region
+         */
+        public Region getRegion() {
+            return region;
+        }
+
+        /**
+         * Returns the queue type of the ladder.
+         *
+         * @return the queue type
+         */
+        public QueueType getQueue() {
+            return queue;
+        }
+
+        /**
+         * Returns the tier of the page.
+         *
+         * @return the tier
+         */
+        public Tier getTier() {
+            return tier;
+        }
+
+        /**
+         * Returns the division of the page.
+         *
+         * @return the division, {@code I} for the apex tiers
+         */
+        public String getDivision() {
+            return division;
+        }
+
+        /**
+         * Returns the page number.
+         *
+         * @return the page number, starting at 1
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Returns the entries of the page.
+         *
+         * @return an unmodifiable list of the entries
+         */
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Returns whether the page ends its ladder.
+         * The league list of an apex tier is a single page, a paged division ends with an empty page.
+         *
+         * @return true if no page follows, otherwise false
+         */
+        public boolean isLast() {
+            return last;
+        }
+
+        /**
+         * Returns the checkpoint key of the ladder.
+         *
+         * @return the checkpoint key
+         */
+        public String getKey() {
+            return key(region, queue, tier, division);
+        }
+    }
+
+    /**
+     * Receives the fetched pages, one at a time and in fetch order per ladder.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Writes a page. A failure stops the crawl before the page is recorded as completed.
+         *
+         * @param page the page
+         * @throws Exception if the page cannot be written
+         */
+        void accept(Page page) throws Exception;
+
+        /**
+         * Returns a sink writing the entries to the database in batches, including their LP history.
+         *
+         * @param sql the database handler
+         * @return the sink
+         */
+        static Sink of(SQL sql) {
+            return page -> sql.addEntries(page.getEntries());
+        }
+    }
+
+    /**
+     * Records the last completed page of every ladder.
+     */
+    public interface Checkpoint {
+
+        // Constants
+        int FINISHED = Integer.MAX_VALUE;
+
+        /**
+         * Returns the last completed page of a ladder.
+         *
+         * @param key the checkpoint key of the ladder
+         * @return the last completed page, {@link #FINISHED} if the ladder reached its end, or 0 if the ladder was not crawled yet
+         */
+        int getCompletedPage(String key);
+
+        /**
+         * Records the last completed page of a ladder.
+         *
+         * @param key  the checkpoint key of the ladder
+         * @param page the last completed page, or {@link #FINISHED} if the ladder reached its end
+         */
+        void setCompletedPage(String key, int page);
+
+        /**
+         * Forgets the progress of all ladders, so the next crawl starts from the first pages.
+         */
+        void clear();
+
+        /**
+         * Returns a checkpoint kept in memory, which only resumes within the same process.
+         *
+         * @return the checkpoint
+         */
+        static Checkpoint inMemory() {
+            ConcurrentHashMap<String, Integer> pages = new ConcurrentHashMap<>();
+            return new Checkpoint() {
+                @Override
+                public int getCompletedPage(String key) {
+                    return pages.getOrDefault(key, 0);
+                }
+
+                @Override
+                public void setCompletedPage(String key, int page) {
+                    pages.put(key, page);
+                }
+
+                @Override
+                public void clear() {
+                    pages.clear();
+                }
+            };
+        }
+
+        /**
+         * Returns a checkpoint stored in the database, which resumes across restarts.
+         * Clearing it deletes the progress through {@link SQL#clearCrawlProgress()}.
+         *
+         * @param sql the database handler
+         * @return the checkpoint
+         */
+        static Checkpoint of(SQL sql) {
+            return new Checkpoint() {
+                @Override
+                public int getCompletedPage(String key) {
+                    return sql.getCrawlProgress(key);
+                }
+
+                @Override
+                public void setCompletedPage(String key, int page) {
+                    sql.setCrawlProgress(key, page);
+                }
+
+                @Override
+                public void clear() {
+                    sql.clearCrawlProgress();
+                }
+            };
+        }
+    }
+}
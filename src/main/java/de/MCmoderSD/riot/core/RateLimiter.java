@@ -0,0 +1,299 @@
+package de.MCmoderSD.riot.core;
+
+import java.net.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paces requests against the Riot Games API based on the rate limit headers it returns.
+ * One instance should be used per API key, since the application limits are bound to the key.
+ * <p>
+ * The limiter keeps a set of fixed windows for the application limit of every host
+ * and for the method limit of every host and endpoint. The limits start with the
+ * development key defaults and are replaced by the values of the
+ * {@code X-App-Rate-Limit} and {@code X-Method-Rate-Limit} headers as soon as they arrive.
+ */
+@SuppressWarnings("unused")
+public class RateLimiter {
+
+    // Constants
+    private static final String APP_RATE_LIMIT = "X-App-Rate-Limit";
+    private static final String APP_RATE_LIMIT_COUNT = "X-App-Rate-Limit-Count";
+    private static final String METHOD_RATE_LIMIT = "X-Method-Rate-Limit";
+    private static final String METHOD_RATE_LIMIT_COUNT = "X-Method-Rate-Limit-Count";
+    private static final String RATE_LIMIT_TYPE = "X-Rate-Limit-Type";
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final String DEFAULT_APP_LIMITS = "20:1,100:120";
+    private static final long DEFAULT_RETRY_AFTER = 1000;
+
+    // Attributes
+    private final String defaultAppLimits;
+    private final ConcurrentHashMap<String, Limit> appLimits;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Limit>> methodLimits;
+
+    /**
+     * Constructs a RateLimiter with the development key defaults.
+     */
+    public RateLimiter() {
+        this(DEFAULT_APP_LIMITS);
+    }
+
+    /**
+     * Constructs a RateLimiter with the given initial application limits.
+     *
+     * @param defaultAppLimits the initial application limits in the header format, e.g. {@code 20:1,100:120}
+     */
+    public RateLimiter(String defaultAppLimits) {
+        this.defaultAppLimits = defaultAppLimits;
+        appLimits = new ConcurrentHashMap<>();
+        methodLimits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Tries to reserve a request slot for the given host and method.
+     * If no slot is available nothing is reserved and the caller has to try again after the returned delay.
+     *
+     * @param host   the host, e.g. the region or cluster
+     * @param method the endpoint of the request
+     * @return 0 if a slot was reserved, otherwise the time in milliseconds to wait before trying again
+     */
+    public long reserve(String host, String method) {
+
+        // Get the limits
+        Limit app = getAppLimit(host);
+        Limit methodLimit = getMethodLimit(host, method);
+
+        // Reserve in both limits at once, the application limit is always locked first
+        synchronized (app) {
+            synchronized (methodLimit) {
+                long now = System.currentTimeMillis();
+                long wait = Math.max(app.waitTime(now), methodLimit.waitTime(now));
+                if (wait > 0) return wait;
+                app.consume(now);
+                methodLimit.consume(now);
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Updates the limits for the given host and method from the headers of a response.
+     *
+     * @param host       the host, e.g. the region or cluster
+     * @param method     the endpoint of the request
+     * @param statusCode the status code of the response
+     * @param headers    the headers of the response
+     */
+    public void update(String host, String method, int statusCode, HttpHeaders headers) {
+
+        // Get the limits
+        Limit app = getAppLimit(host);
+        Limit methodLimit = getMethodLimit(host, method);
+        long now = System.currentTimeMillis();
+
+        // Update the limits and counts
+        synchronized (app) {
+            app.update(headers.firstValue(APP_RATE_LIMIT).orElse(null), headers.firstValue(APP_RATE_LIMIT_COUNT).orElse(null), now);
+        }
+        synchronized (methodLimit) {
+            methodLimit.update(headers.firstValue(METHOD_RATE_LIMIT).orElse(null), headers.firstValue(METHOD_RATE_LIMIT_COUNT).orElse(null), now);
+        }
+
+        // Check for rate limit exceeded
+        if (statusCode != 429) return;
+        long retryAfter = headers.firstValue(RETRY_AFTER).map(RateLimiter::parseRetryAfter).orElse(DEFAULT_RETRY_AFTER);
+        Limit blocked = "application".equalsIgnoreCase(headers.firstValue(RATE_LIMIT_TYPE).orElse(null)) ? app : methodLimit;
+        synchronized (blocked) {
+            blocked.block(now + retryAfter);
+        }
+    }
+
+    /**
+     * Returns the application limit of a host, creating it with the default limits on first use.
+     *
+     * @param host the host
+     * @return the application limit
+     */
+    private Limit getAppLimit(String host) {
+        Limit limit = appLimits.get(host);
+        return limit != null ? limit : appLimits.computeIfAbsent(host, key -> new Limit(defaultAppLimits));
+    }
+
+    /**
+     * Returns the method limit of a host and method, creating it unlimited on first use.
+     * The lookup is nested by host, so no combined key is built per request.
+     *
+     * @param host   the host
+     * @param method the endpoint
+     * @return the method limit
+     */
+    private Limit getMethodLimit(String host, String method) {
+        ConcurrentHashMap<String, Limit> limits = methodLimits.get(host);
+        if (limits == null) limits = methodLimits.computeIfAbsent(host, key -> new ConcurrentHashMap<>());
+        Limit limit = limits.get(method);
+        return limit != null ? limit : limits.computeIfAbsent(method, key -> new Limit(null));
+    }
+
+    /**
+     * Parses the value of a Retry-After header.
+     *
+     * @param value the header value in seconds
+     * @return the delay in milliseconds
+     */
+    static long parseRetryAfter(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+
+    /**
+     * A set of fixed windows that together form one rate limit.
+     * Instances are guarded by their own monitor.
+     */
+    private static class Limit {
+
+        // Attributes
+        private final ArrayList<Window> windows;
+        private long blockedUntil;
+
+        /**
+         * Constructs a Limit from a header value.
+         *
+         * @param limits the limits in the header format, or null for an unlimited limit
+         */
+        private Limit(String limits) {
+            windows = new ArrayList<>();
+            if (limits != null) setLimits(limits);
+        }
+
+        /**
+         * Returns the time to wait until a request fits into every window.
+         *
+         * @param now the current time in milliseconds
+         * @return the time to wait in milliseconds, or 0 if a request is allowed
+         */
+        private long waitTime(long now) {
+            long wait = Math.max(0, blockedUntil - now);
+            for (Window window : windows) wait = Math.max(wait, window.waitTime(now));
+            return wait;
+        }
+
+        /**
+         * Counts a request in every window.
+         *
+         * @param now the current time in milliseconds
+         */
+        private void consume(long now) {
+            for (Window window : windows) window.consume(now);
+        }
+
+        /**
+         * Blocks the limit until the given time.
+         *
+         * @param until the time in milliseconds
+         */
+        private void block(long until) {
+            blockedUntil = Math.max(blockedUntil, until);
+        }
+
+        /**
+         * Updates the windows from the limit and count headers.
+         *
+         * @param limits the limit header value, may be null
+         * @param counts the count header value, may be null
+         * @param now    the current time in milliseconds
+         */
+        private void update(String limits, String counts, long now) {
+            if (limits != null) setLimits(limits);
+            if (counts == null) return;
+            for (String count : counts.split(",")) {
+                long[] pair = parse(count);
+                if (pair == null) continue;
+                for (Window window : windows) if (window.millis == pair[1] * 1000) window.sync(pair[0], now);
+            }
+        }
+
+        /**
+         * Replaces the windows with the given limits while keeping the counts of unchanged windows.
+         *
+         * @param limits the limits in the header format
+         */
+        private void setLimits(String limits) {
+            ArrayList<Window> updated = new ArrayList<>();
+            for (String limit : limits.split(",")) {
+                long[] pair = parse(limit);
+                if (pair == null) continue;
+                Window window = new Window(pair[0], pair[1] * 1000);
+                for (Window existing : windows) if (existing.millis == window.millis) {
+                    window.start = existing.start;
+                    window.count = existing.count;
+                }
+                updated.add(window);
+            }
+            windows.clear();
+            windows.addAll(updated);
+        }
+
+        /**
+         * Parses a single {@code value:seconds} pair.
+         *
+         * @param pair the pair to parse
+         * @return the value and the seconds, or null if malformed
+         */
+        private static long[] parse(String pair) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) return null;
+            try {
+                return new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A fixed window that starts with the first request after the previous window expired.
+     */
+    private static class Window {
+
+        // Attributes
+        private final long capacity;
+        private final long millis;
+        private long start;
+        private long count;
+
+        /**
+         * Constructs a Window.
+         *
+         * @param capacity the maximum number of requests per window
+         * @param millis   the length of the window in milliseconds
+         */
+        private Window(long capacity, long millis) {
+            this.capacity = capacity;
+            this.millis = millis;
+        }
+
+        private long waitTime(long now) {
+            if (now - start >= millis) return 0;
+            return count < capacity ? 0 : start + millis - now;
+        }
+
+        private void consume(long now) {
+            if (now - start >= millis) {
+                start = now;
+                count = 0;
+            }
+            count++;
+        }
+
+        private void sync(long serverCount, long now) {
+            if (now - start >= millis) {
+                start = now;
+                count = 0;
+            }
+            count = Math.max(count, serverCount);
+        }
+    }
+}
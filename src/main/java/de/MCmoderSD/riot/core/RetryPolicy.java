@@ -0,0 +1,191 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decides how requests to the Riot Games API are repeated when they fail or answer slowly.
+ * <ul>
+ *     <li>Server errors and I/O errors are retried after an exponential backoff with jitter, a {@code Retry-After} header extends the backoff.</li>
+ *     <li>Every call ends at its deadline, including all retries and waits for the rate limiter.</li>
+ *     <li>With hedging, a backup request is sent when the first one takes longer than a latency percentile of its endpoint,
+ *     the first usable answer wins. Hedging starts after {@value #MIN_HEDGE_SAMPLES} answers of an endpoint
+ *     and only uses free slots of the rate limit.</li>
+ * </ul>
+ * All requests of the Riot Games API are idempotent GET requests, so repeating them is safe.
+ */
+@SuppressWarnings("unused")
+public class RetryPolicy {
+
+    // Constants
+    public static final int MIN_HEDGE_SAMPLES = 100;
+    public static final RetryPolicy DEFAULT = new RetryPolicy(2, Duration.ofMillis(100), Duration.ofSeconds(2), Duration.ofSeconds(30));
+    public static final RetryPolicy NONE = new RetryPolicy(0, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    // Attributes
+    private final int maxRetries;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration deadline;
+    private final double hedgePercentile;
+    private final Duration minHedgeDelay;
+
+    /**
+     * Constructs a RetryPolicy without hedging.
+     *
+     * @param maxRetries the maximum number of retries after the first attempt
+     * @param baseDelay  the backoff before the first retry, doubled for every further retry
+     * @param maxDelay   the maximum backoff
+     * @param deadline   the time after which a call fails, {@link Duration#ZERO} for no deadline
+     * @throws IllegalArgumentException if the number of retries or a duration is negative, or the maximum backoff is shorter than the base
+     */
+    public RetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, Duration deadline) {
+        this(maxRetries, baseDelay, maxDelay, deadline, 0, Duration.ZERO);
+    }
+
+    /**
+     * Constructs a RetryPolicy.
+     *
+     * @param maxRetries      the maximum number of retries after the first attempt
+     * @param baseDelay       the backoff before the first retry, doubled for every further retry
+     * @param maxDelay        the maximum backoff
+     * @param deadline        the time after which a call fails, {@link Duration#ZERO} for no deadline
+     * @param hedgePercentile the latency percentile after which a backup request is sent, 0 to disable hedging
+     * @param minHedgeDelay   the minimum time before a backup request is sent
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    private RetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, Duration deadline, double hedgePercentile, Duration minHedgeDelay) {
+
+        // Check Parameters
+        if (maxRetries < 0) throw new IllegalArgumentException("Max retries must not be negative");
+        if (baseDelay == null || baseDelay.isNegative()) throw new IllegalArgumentException("Base delay must not be null or negative");
+        if (maxDelay == null || maxDelay.compareTo(baseDelay) < 0) throw new IllegalArgumentException("Max delay must not be shorter than the base delay");
+        if (deadline == null || deadline.isNegative()) throw new IllegalArgumentException("Deadline must not be null or negative");
+        if (hedgePercentile < 0 || hedgePercentile >= 100) throw new IllegalArgumentException("Hedge percentile must be at least 0 and below 100");
+        if (minHedgeDelay == null || minHedgeDelay.isNegative()) throw new IllegalArgumentException("Min hedge delay must not be null or negative");
+
+        // Init Attributes
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelay = minHedgeDelay;
+    }
+
+    /**
+     * Returns a copy of this policy that hedges slow requests.
+     *
+     * @param percentile the latency percentile of the endpoint after which a backup request is sent, e.g. 95
+     * @param minDelay   the minimum time before a backup request is sent
+     * @return the hedging policy
+     * @throws IllegalArgumentException if the percentile is not above 0 and below 100, or the delay is null or negative
+     */
+    public RetryPolicy withHedging(double percentile, Duration minDelay) {
+        if (percentile <= 0) throw new IllegalArgumentException("Hedge percentile must be above 0");
+        return new RetryPolicy(maxRetries, baseDelay, maxDelay, deadline, percentile, minDelay);
+    }
+
+    /**
+     * Returns the backoff before a retry. The delay doubles with every retry up to the maximum,
+     * a random half of it is dropped, so clients that failed together do not retry together.
+     *
+     * @param retry the number of the retry, starting at 0
+     * @return the backoff in milliseconds
+     */
+    public long getBackoff(int retry) {
+        long cap = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(retry, 30));
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    /**
+     * Returns the time after which a backup request is sent.
+     *
+     * @param latencies the latencies of the endpoint
+     * @return the delay in nanoseconds, or -1 if hedging is disabled or the endpoint has too few samples
+     */
+    public long getHedgeDelay(LatencyHistogram latencies) {
+        if (hedgePercentile == 0 || latencies == null || latencies.getCount() < MIN_HEDGE_SAMPLES) return -1;
+        return Math.max(minHedgeDelay.toNanos(), latencies.getPercentile(hedgePercentile) * 1000);
+    }
+
+    /**
+     * Checks whether a status code is worth a retry.
+     *
+     * @param statusCode the status code
+     * @return true for rate limited requests and server errors, otherwise false
+     */
+    public static boolean isTransient(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Checks whether a failure is worth a retry.
+     *
+     * @param throwable the failure
+     * @return true for I/O errors and timeouts, otherwise false
+     */
+    public static boolean isTransient(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Returns the maximum number of retries after the first attempt.
+     *
+     * @return the maximum number of retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns the backoff before the first retry.
+     *
+     * @return the base delay
+     */
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    /**
+     * Returns the maximum backoff.
+     *
+     * @return the maximum delay
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Returns the time after which a call fails.
+     *
+     * @return the deadline, {@link Duration#ZERO} for no deadline
+     */
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Returns the latency percentile after which a backup request is sent.
+     *
+     * @return the percentile, 0 if hedging is disabled
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * Returns the minimum time before a backup request is sent.
+     *
+     * @return the minimum hedge delay
+     */
+    public Duration getMinHedgeDelay() {
+        return minHedgeDelay;
+    }
+}
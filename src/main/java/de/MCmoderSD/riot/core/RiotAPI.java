@@ -1,33 +1,79 @@
 package de.MCmoderSD.riot.core;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidParameterException;
-
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import de.MCmoderSD.riot.cache.SingleFlight;
+import de.MCmoderSD.riot.cache.TimedCache;
+import de.MCmoderSD.riot.database.FreshnessPolicy;
+import de.MCmoderSD.riot.database.IdentityStore;
 import de.MCmoderSD.riot.database.SQL;
+import de.MCmoderSD.riot.database.Stored;
+import de.MCmoderSD.riot.database.WriteBehindQueue;
 import de.MCmoderSD.riot.enums.Cluster;
+import de.MCmoderSD.riot.enums.QueueType;
 import de.MCmoderSD.riot.enums.Region;
 import de.MCmoderSD.riot.enums.Tier;
+import de.MCmoderSD.riot.metrics.JmxMetrics;
+import de.MCmoderSD.riot.metrics.LatencyHistogram;
+import de.MCmoderSD.riot.metrics.Metrics;
 import de.MCmoderSD.riot.objects.Account;
 import de.MCmoderSD.riot.objects.Entry;
+import de.MCmoderSD.riot.objects.LeagueSnapshot;
+import de.MCmoderSD.riot.objects.PlayerProfile;
+import de.MCmoderSD.riot.objects.RiotId;
 import de.MCmoderSD.riot.objects.Summoner;
 import de.MCmoderSD.sql.Driver;
 
 /**
  * The RiotAPI class provides methods to interact with the Riot Games API and manage data in a SQL database.
+ * Instances are thread-safe and meant to be shared.
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
-public class RiotAPI {
+public class RiotAPI implements AutoCloseable {
 
     // Constants
-    private static final String GET_ACCOUNT = "/riot/account/v1/accounts/by-riot-id/";
-    private static final String GET_SUMMONER = "/lol/summoner/v4/summoners/by-puuid/";
-    private static final String GET_ENTRIES = "/lol/league/v4/entries/by-summoner/";
+    private static final String TOKEN_HEADER = "X-Riot-Token";
+    private static final int DEFAULT_PARALLELISM = 32;
+    private static final int MAX_RATE_LIMIT_RETRIES = 5;
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final int DEFAULT_ADMISSION_LIMIT = 512;
+    private static final Duration DEFAULT_ENTRY_TTL = Duration.ofSeconds(30);
+    private static final int DEFAULT_ENTRY_CACHE_SIZE = 10000;
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(1);
+    private static final String UNRANKED = "unranked:";
+    private static final long HEDGE_REFRESH = TimeUnit.MILLISECONDS.toNanos(100);
 
     // Associations
     private final SQL sql;
@@ -35,8 +81,32 @@ public class RiotAPI {
     // Attributes
     private final String apiKey;
     private final Cluster cluster;
-    private final HttpClient httpClient;
-    private final ObjectMapper mapper;
+    private final boolean ownsSql;
+    private final Transport transport;
+    private final boolean ownsTransport;
+    private final JsonFactory jsonFactory;
+    private final RateLimiter rateLimiter;
+    private final SingleFlight<String, Account> accountFlights;
+    private final SingleFlight<String, Summoner> summonerFlights;
+    private final SingleFlight<String, Summoner> riotIdFlights;
+    private final SingleFlight<String, List<Entry>> entryFlights;
+    private final SingleFlight<String, PlayerProfile> profileFlights;
+    private final SingleFlight<String, Summoner> revalidationFlights;
+    private final ConcurrentHashMap<String, Latency> latencies;
+    private final ExecutorService defaultDatabaseExecutor;
+    private volatile Executor databaseExecutor;
+    private volatile FreshnessPolicy freshnessPolicy;
+    private volatile RetryPolicy retryPolicy;
+    private volatile CircuitBreakerPolicy circuitBreakerPolicy;
+    private volatile ConcurrentHashMap<String, CircuitBreaker> circuitBreakers;
+    private volatile int admissionLimit;
+    private volatile ConcurrentHashMap<String, Semaphore> admissions;
+    private volatile Metrics metrics;
+    private volatile String baseUrl;
+    private volatile TimedCache<String, List<Entry>> entryCache;
+    private volatile TimedCache<String, PlayerProfile> profileCache;
+    private volatile TimedCache<String, String> negativeCache;
+    private volatile WriteBehindQueue writeBehind;
 
     /**
      * Constructs a new RiotAPI instance with the specified API key, cluster, and database configuration.
@@ -47,17 +117,7 @@ public class RiotAPI {
      * @param databaseConfig the database configuration as a JsonNode
      */
     public RiotAPI(String apiKey, Cluster cluster, Driver.DatabaseType databaseType, JsonNode databaseConfig) {
-
-        // Init Associations
-        sql = new SQL(databaseType, databaseConfig);
-
-        // Init Attributes
-        this.apiKey = apiKey;
-        this.cluster = cluster;
-
-        // Init Objects
-        httpClient = HttpClient.newHttpClient();
-        mapper = new ObjectMapper();
+        this(apiKey, cluster, new SQL(databaseType, databaseConfig), true, new HttpTransport(), true);
     }
 
     /**
@@ -73,17 +133,75 @@ public class RiotAPI {
      * @param password the database password
      */
     public RiotAPI(String apiKey, Cluster cluster, Driver.DatabaseType databaseType, String host, int port, String database, String username, String password) {
+        this(apiKey, cluster, new SQL(databaseType, host, port, database, username, password), true, new HttpTransport(), true);
+    }
+
+    /**
+     * Constructs a new RiotAPI instance with the specified API key, cluster, and an existing database handler.
+     * The database handler is thread-safe and can be shared between several instances, it is not closed with this instance.
+     *
+     * @param apiKey  the API key for accessing the Riot Games API
+     * @param cluster the cluster to use for API requests
+     * @param sql     the database handler
+     */
+    public RiotAPI(String apiKey, Cluster cluster, SQL sql) {
+        this(apiKey, cluster, sql, false, new HttpTransport(), true);
+    }
+
+    /**
+     * Constructs a new RiotAPI instance with the specified API key, cluster, database handler and transport.
+     *
+     * @param apiKey        the API key for accessing the Riot Games API
+     * @param cluster       the cluster to use for API requests
+     * @param sql           the database handler
+     * @param ownsSql       whether the connection pool of the database handler is closed with this instance
+     * @param transport     the transport to send the requests with
+     * @param ownsTransport whether the transport is closed with this instance
+     */
+    private RiotAPI(String apiKey, Cluster cluster, SQL sql, boolean ownsSql, Transport transport, boolean ownsTransport) {
 
         // Init Associations
-        sql = new SQL(databaseType, host, port, database, username, password);
+        this.sql = sql;
 
         // Init Attributes
         this.apiKey = apiKey;
         this.cluster = cluster;
+        this.ownsSql = ownsSql;
+        this.transport = transport;
+        this.ownsTransport = ownsTransport;
 
         // Init Objects
-        httpClient = HttpClient.newHttpClient();
-        mapper = new ObjectMapper();
+        jsonFactory = new JsonFactory();
+        rateLimiter = new RateLimiter();
+        accountFlights = new SingleFlight<>();
+        summonerFlights = new SingleFlight<>();
+        riotIdFlights = new SingleFlight<>();
+        entryFlights = new SingleFlight<>();
+        profileFlights = new SingleFlight<>();
+        revalidationFlights = new SingleFlight<>();
+        latencies = new ConcurrentHashMap<>();
+        defaultDatabaseExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("RiotAPI-Database-", 0).factory());
+        databaseExecutor = defaultDatabaseExecutor;
+        freshnessPolicy = FreshnessPolicy.DEFAULT;
+        retryPolicy = RetryPolicy.DEFAULT;
+        circuitBreakerPolicy = CircuitBreakerPolicy.DEFAULT;
+        circuitBreakers = new ConcurrentHashMap<>();
+        admissionLimit = DEFAULT_ADMISSION_LIMIT;
+        admissions = new ConcurrentHashMap<>();
+        metrics = new JmxMetrics();
+        if (ownsSql) sql.setMetrics(metrics);
+        entryCache = new TimedCache<>(DEFAULT_ENTRY_TTL, DEFAULT_ENTRY_CACHE_SIZE);
+        profileCache = new TimedCache<>(DEFAULT_ENTRY_TTL, DEFAULT_ENTRY_CACHE_SIZE);
+        negativeCache = new TimedCache<>(DEFAULT_NEGATIVE_TTL, DEFAULT_ENTRY_CACHE_SIZE);
+    }
+
+    /**
+     * Returns a builder to configure a RiotAPI instance, including its transport.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -104,6 +222,186 @@ public class RiotAPI {
         return true;
     }
 
+    /**
+     * Configures the in-memory entry and profile caches.
+     * Entries are cached per PUUID and region and profiles per Riot ID and region,
+     * so back-to-back getters for the same player share one lookup.
+     * The previously cached values are discarded.
+     *
+     * @param ttl     the time to live of a cached value, {@link Duration#ZERO} disables caching
+     * @param maxSize the maximum number of cached values per cache
+     * @throws IllegalArgumentException if the time to live is negative or the maximum size is not positive
+     */
+    public void setEntryCache(Duration ttl, int maxSize) {
+        entryCache = new TimedCache<>(ttl, maxSize);
+        profileCache = new TimedCache<>(ttl, maxSize);
+    }
+
+    /**
+     * Configures the negative cache, which remembers Riot IDs, PUUIDs and summoners the Riot Games API did not find
+     * and players without league entries. Lookups of a remembered miss fail with a {@link RiotException}
+     * or return no entries without sending a request. Transient failures are never remembered.
+     * The previously cached misses are discarded.
+     *
+     * @param ttl     the time to live of a miss, {@link Duration#ZERO} disables the negative cache
+     * @param maxSize the maximum number of remembered misses
+     * @throws IllegalArgumentException if the time to live is negative or the maximum size is not positive
+     */
+    public void setNegativeCache(Duration ttl, int maxSize) {
+        negativeCache = new TimedCache<>(ttl, maxSize);
+    }
+
+    /**
+     * Configures when stored accounts and summoners are refreshed from the Riot Games API.
+     * Fresh rows are served directly, stale rows are served directly and refreshed in the background,
+     * expired rows are refetched before they are served.
+     *
+     * @param freshnessPolicy the policy to apply to stored rows
+     * @throws InvalidParameterException if the policy is null
+     */
+    public void setFreshnessPolicy(FreshnessPolicy freshnessPolicy) {
+        if (freshnessPolicy == null) throw new InvalidParameterException("Freshness policy must not be null");
+        this.freshnessPolicy = freshnessPolicy;
+    }
+
+    /**
+     * Sets the executor that runs the blocking database calls of the asynchronous methods,
+     * so they never block the threads of the HTTP client.
+     * By default, every database call runs on its own virtual thread, the connection pool bounds how many run at once.
+     *
+     * @param databaseExecutor the executor, it is not shut down with this instance
+     * @throws InvalidParameterException if the executor is null
+     */
+    public void setDatabaseExecutor(Executor databaseExecutor) {
+        if (databaseExecutor == null) throw new InvalidParameterException("Database executor must not be null");
+        this.databaseExecutor = databaseExecutor;
+    }
+
+    /**
+     * Configures how failed and slow requests are repeated, see {@link RetryPolicy}.
+     * By default, server errors and I/O errors are retried twice within a deadline of 30 seconds, slow requests are not hedged.
+     *
+     * @param retryPolicy the policy to apply to every request
+     * @throws InvalidParameterException if the policy is null
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        if (retryPolicy == null) throw new InvalidParameterException("Retry policy must not be null");
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Configures the circuit breakers, one per region and cluster, see {@link CircuitBreaker}.
+     * While the circuit of a host is open, requests to it fail fast with a {@link RiotException} of status 503,
+     * expired database rows and stored league entries are served instead of refetching them.
+     * The state of the previous circuit breakers is discarded.
+     *
+     * @param circuitBreakerPolicy the policy, {@link CircuitBreakerPolicy#DISABLED} to never open a circuit
+     * @throws InvalidParameterException if the policy is null
+     */
+    public synchronized void setCircuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+        if (circuitBreakerPolicy == null) throw new InvalidParameterException("Circuit breaker policy must not be null");
+        this.circuitBreakerPolicy = circuitBreakerPolicy;
+        circuitBreakers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the state of the circuit breaker of a region.
+     *
+     * @param region the region
+     * @return the state of the circuit
+     */
+    public CircuitBreaker.State getCircuitState(Region region) {
+        return getCircuitBreaker(region.getRegion()).getState();
+    }
+
+    /**
+     * Returns the state of the circuit breaker of a cluster.
+     *
+     * @param cluster the cluster
+     * @return the state of the circuit
+     */
+    public CircuitBreaker.State getCircuitState(Cluster cluster) {
+        return getCircuitBreaker(cluster.getCluster()).getState();
+    }
+
+    /**
+     * Limits the number of calls per region and cluster that are waiting for the rate limiter, in flight or between retries.
+     * Calls beyond the limit are shed at once with a {@link RiotException} of status 503 instead of queueing up behind a slow host.
+     *
+     * @param admissionLimit the maximum number of pending calls per host
+     * @throws InvalidParameterException if the limit is not positive
+     */
+    public synchronized void setAdmissionLimit(int admissionLimit) {
+        if (admissionLimit < 1) throw new InvalidParameterException("Admission limit must be at least 1");
+        this.admissionLimit = admissionLimit;
+        admissions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Replaces the metrics of this instance, and of its database handler if the handler is owned by this instance.
+     * A shared handler keeps its own metrics, set them with {@link SQL#setMetrics(Metrics)}.
+     * By default every instance publishes its metrics over JMX, see {@link JmxMetrics}.
+     * A replaced {@link JmxMetrics} is unregistered, use {@link Metrics#NOOP} to turn recording off.
+     *
+     * @param metrics the metrics
+     * @throws InvalidParameterException if the metrics are null
+     */
+    public synchronized void setMetrics(Metrics metrics) {
+        if (metrics == null) throw new InvalidParameterException("Metrics must not be null");
+        Metrics previous = this.metrics;
+        this.metrics = metrics;
+        if (ownsSql) sql.setMetrics(metrics);
+        if (previous != metrics && previous instanceof JmxMetrics jmx) jmx.close();
+    }
+
+    /**
+     * Returns the metrics of this instance.
+     *
+     * @return the metrics
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Overrides the base URL of all regions and clusters, e.g. to point the API at a local stub server.
+     * Rate limits are still tracked per region and cluster.
+     *
+     * @param baseUrl the base URL without trailing slash, or null to use the Riot Games API
+     */
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Enables write-behind persistence.
+     * Fetched accounts and summoners are queued and written to the database in batches by a background thread,
+     * so cold lookups no longer wait for the database. Pending writes are flushed on {@link #close()}.
+     *
+     * @param capacity the maximum number of pending writes, callers write synchronously when it is reached
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public synchronized void enableWriteBehind(int capacity) {
+        if (writeBehind != null) writeBehind.close();
+        WriteBehindQueue queue = new WriteBehindQueue(sql, capacity);
+        queue.start();
+        writeBehind = queue;
+    }
+
+    /**
+     * Waits for pending database calls, flushes pending writes, stops the write-behind thread and unregisters JMX metrics.
+     * A database handler and a transport created by this instance are closed as well, shared ones stay open.
+     */
+    @Override
+    public synchronized void close() {
+        defaultDatabaseExecutor.close();
+        if (writeBehind != null) writeBehind.close();
+        writeBehind = null;
+        if (metrics instanceof JmxMetrics jmx) jmx.close();
+        if (ownsTransport) transport.close();
+        if (ownsSql) sql.closePool();
+    }
+
     /**
      * Retrieves a Summoner by name, tag, and region.
      *
@@ -115,19 +413,31 @@ public class RiotAPI {
     public Summoner getSummoner(String name, String tag, Region region) {
         try {
 
-            // Check Parameters
-            checkParameters(name, tag, region);
+            // Fetch the summoner, stored summoners are served according to the freshness policy
+            return await(getSummonerAsync(name, tag, region));
 
-            // Try to get the summoner from the database
-            Summoner summoner = sql.getSummoner(name, tag);
+        } catch (IOException | InterruptedException e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
 
-            // Check if the summoner is null
-            if (summoner != null) return summoner;
+    /**
+     * Retrieves the profile of a player by name, tag, and region.
+     * The account, the summoner and all league entries are fetched in one pass and cached together.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return the PlayerProfile object, or null if not found
+     */
+    public PlayerProfile getProfile(String name, String tag, Region region) {
+        try {
 
-            // Fetch the account and summoner
-            return getSummoner(getAccount(name, tag), region);
+            // Fetch the profile
+            return await(getProfileAsync(name, tag, region));
 
-        } catch (IOException | InterruptedException e) {
+        } catch (Exception e) {
             System.err.println(e.getMessage());
             return null;
         }
@@ -142,23 +452,13 @@ public class RiotAPI {
      * @return the profile icon ID, or null if not found
      */
     public Integer getProfileIconId(String name, String tag, Region region) {
-        try {
-
-            // Check Parameters
-            checkParameters(name, tag, region);
-
-            // Try to get the account from the database
-            Account account = sql.getAccount(name, tag);
-            if (account == null) account = getAccount(name, tag);
 
-            // Check if the account is null
-            if (account == null) return null;
-            else return getSummoner(account, region).getProfileIconId();
+        // Fetch the profile
+        PlayerProfile profile = getProfile(name, tag, region);
 
-        } catch (IOException | InterruptedException e) {
-            System.err.println(e.getMessage());
-            return null;
-        }
+        // Check if the profile is null
+        if (profile == null) return null;
+        else return profile.getSummoner().getProfileIconId();
     }
 
     /**
@@ -170,27 +470,17 @@ public class RiotAPI {
      * @return the summoner level, or null if not found
      */
     public Integer getSummonerLevel(String name, String tag, Region region) {
-        try {
-
-            // Check Parameters
-            checkParameters(name, tag, region);
-
-            // Try to get the account from the database
-            Account account = sql.getAccount(name, tag);
-            if (account == null) account = getAccount(name, tag);
 
-            // Check if the account is null
-            if (account == null) return null;
-            else return getSummoner(account, region).getSummonerLevel();
+        // Fetch the profile
+        PlayerProfile profile = getProfile(name, tag, region);
 
-        } catch (IOException | InterruptedException e) {
-            System.err.println(e.getMessage());
-            return null;
-        }
+        // Check if the profile is null
+        if (profile == null) return null;
+        else return profile.getSummoner().getSummonerLevel();
     }
 
     /**
-     * Retrieves the entry of a summoner by name, tag, and region.
+     * Retrieves the Ranked Solo/Duo entry of a summoner by name, tag, and region.
      *
      * @param name   the name of the summoner
      * @param tag    the tag of the summoner
@@ -198,10 +488,53 @@ public class RiotAPI {
      * @return the Entry object, or null if not found
      */
     public Entry getEntry(String name, String tag, Region region) {
+        return getEntry(name, tag, region, QueueType.RANKED_SOLO_5x5);
+    }
+
+    /**
+     * Retrieves the entry of a summoner in the given queue by name, tag, and region.
+     * All queues are served from one cached fetch, so asking for several queues costs a single request.
+     *
+     * @param name      the name of the summoner
+     * @param tag       the tag of the summoner
+     * @param region    the region of the summoner
+     * @param queueType the queue type
+     * @return the Entry object, or null if not found or unranked in the queue
+     */
+    public Entry getEntry(String name, String tag, Region region, QueueType queueType) {
         try {
 
             // Fetch the entry
-            return getEntry(getSummoner(name, tag, region), region);
+            return getEntry(getSummoner(name, tag, region), region, queueType);
+
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the recorded league history of a summoner by name, tag, and region.
+     * A snapshot is recorded whenever a fetched entry differs from the previously stored one.
+     *
+     * @param name      the name of the summoner
+     * @param tag       the tag of the summoner
+     * @param region    the region of the summoner
+     * @param queueType the queue type
+     * @param limit     the maximum number of snapshots
+     * @return the most recent snapshots in chronological order, or null if the summoner was not found
+     * @throws InvalidParameterException if the limit is not positive
+     */
+    public List<LeagueSnapshot> getLeagueHistory(String name, String tag, Region region, QueueType queueType, int limit) {
+        if (limit <= 0) throw new InvalidParameterException("Limit must be positive");
+        try {
+
+            // Resolve the summoner
+            Summoner summoner = getSummoner(name, tag, region);
+            if (summoner == null) return null;
+
+            // Fetch the history
+            return sql.getLeagueHistory(summoner.getSummonerId(), queueType.getIdentifier(), limit);
 
         } catch (Exception e) {
             System.err.println(e.getMessage());
@@ -219,8 +552,8 @@ public class RiotAPI {
      */
     public Tier getTier(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return null;
@@ -237,12 +570,12 @@ public class RiotAPI {
      */
     public String getRank(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return null;
-        else return getTier(name, tag, region).getName() + " " + entry.getRank();
+        else return Tier.getTier(entry.getTier()).getName() + " " + entry.getRank();
     }
 
     /**
@@ -255,8 +588,8 @@ public class RiotAPI {
      */
     public int getLeaguePoints(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return 0;
@@ -273,8 +606,8 @@ public class RiotAPI {
      */
     public int getWins(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return 0;
@@ -291,8 +624,8 @@ public class RiotAPI {
      */
     public int getLosses(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return 0;
@@ -309,8 +642,8 @@ public class RiotAPI {
      */
     public boolean isVeteran(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return false;
@@ -327,8 +660,8 @@ public class RiotAPI {
      */
     public boolean isInactive(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return false;
@@ -345,8 +678,8 @@ public class RiotAPI {
      */
     public boolean isFreshBlood(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return false;
@@ -363,14 +696,78 @@ public class RiotAPI {
      */
     public boolean isHotStreak(String name, String tag, Region region) {
 
-        // Fetch the entry
-        Entry entry = getEntry(name, tag, region);
+        // Fetch the entry from the profile
+        Entry entry = getProfileEntry(name, tag, region);
 
         // Check if the entry is null
         if (entry == null) return false;
         else return entry.isHotStreak();
     }
 
+    /**
+     * Retrieves the entries of multiple Riot IDs in one bulk operation.
+     *
+     * @param riotIds the Riot IDs to look up
+     * @param region  the region of the summoners
+     * @return the per Riot ID results and errors
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public BulkResult<Entry> getEntries(Collection<RiotId> riotIds, Region region) {
+        return getEntries(riotIds, region, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Retrieves the entries of multiple Riot IDs in one bulk operation.
+     * Summoners already stored in the database are resolved with grouped queries,
+     * only the misses are fetched from the Riot Games API on virtual threads.
+     *
+     * @param riotIds     the Riot IDs to look up
+     * @param region      the region of the summoners
+     * @param parallelism the maximum number of concurrent lookups
+     * @return the per Riot ID results and errors
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public BulkResult<Entry> getEntries(Collection<RiotId> riotIds, Region region, int parallelism) {
+
+        // Check Parameters
+        if (riotIds == null) throw new InvalidParameterException("Riot IDs must not be null");
+        if (region == null) throw new InvalidParameterException("Region must not be null");
+        if (parallelism < 1) throw new InvalidParameterException("Parallelism must be at least 1");
+
+        // Resolve the database hits in bulk
+        BulkResult<Entry> result = new BulkResult<>();
+        Map<RiotId, Stored<Summoner>> summoners = sql.getStoredSummoners(riotIds);
+
+        // Fan out onto virtual threads
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (RiotId riotId : new LinkedHashSet<>(riotIds)) executor.execute(() -> {
+                try {
+                    permits.acquire();
+                    try {
+
+                        // Check Parameters
+                        checkParameters(riotId.getGameName(), riotId.getTagLine(), region);
+
+                        // Fetch the summoner on a miss or if the stored one expired
+                        Summoner summoner = serve(Metrics.SUMMONER_CACHE, summoners.get(riotId), Summoner::getPuuid, region);
+                        if (summoner == null) summoner = getSummoner(getAccount(riotId.getGameName(), riotId.getTagLine()), region);
+
+                        // Fetch the entry
+                        result.success(riotId, getEntry(summoner, region));
+
+                    } finally {
+                        permits.release();
+                    }
+                } catch (Exception e) {
+                    result.failure(riotId, e);
+                }
+            });
+        }
+
+        return result;
+    }
+
     /**
      * Retrieves an Account by game name and tag line.
      *
@@ -382,31 +779,20 @@ public class RiotAPI {
      * @throws InvalidParameterException if any parameter is invalid
      */
     public Account getAccount(String gameName, String tagLine) throws IOException, InterruptedException {
+        return await(getAccountAsync(gameName, tagLine));
+    }
 
-        // Check Parameters
-        if (gameName == null || tagLine == null)
-            throw new InvalidParameterException("GameName and TagLine must not be null");
-        if (gameName.isEmpty() || tagLine.isEmpty() || gameName.isBlank() || tagLine.isBlank())
-            throw new InvalidParameterException("GameName and TagLine must not be empty");
-        if (gameName.length() > 16 || tagLine.length() > 5)
-            throw new InvalidParameterException("GameName must not be longer than 16 characters and TagLine must not be longer than 5 characters");
-        if (gameName.length() < 3 || tagLine.length() < 3)
-            throw new InvalidParameterException("GameName must not be shorter than 3 characters and TagLine must not be shorter than 3 characters");
-
-        // Construct the request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(cluster.getUrl() + GET_ACCOUNT + gameName + "/" + tagLine + "?api_key=" + apiKey))
-                .GET()
-                .build();
-
-        // Send the request
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) throw new RuntimeException("Failed to get PUUID: " + response.body());
-
-        // Parse and check JSON
-        Account account = new Account(mapper.readTree(response.body()));
-        sql.addAccount(account);
-        return account;
+    /**
+     * Retrieves an Account by PUUID, which also resolves the current Riot ID of a renamed account.
+     *
+     * @param puuid the PUUID of the account
+     * @return the Account object
+     * @throws IOException              if an I/O error occurs
+     * @throws InterruptedException     if the operation is interrupted
+     * @throws InvalidParameterException if the PUUID is invalid
+     */
+    public Account getAccountByPuuid(String puuid) throws IOException, InterruptedException {
+        return await(getAccountByPuuidAsync(puuid));
     }
 
     /**
@@ -420,29 +806,11 @@ public class RiotAPI {
      * @throws InvalidParameterException if any parameter is invalid
      */
     public Summoner getSummoner(Account account, Region region) throws IOException, InterruptedException {
-
-        // Check Parameters
-        if (account == null) throw new InvalidParameterException("Account must not be null");
-        if (region == null) throw new InvalidParameterException("Region must not be null");
-
-        // Construct the request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(region.getUrl() + GET_SUMMONER + account.getPUUID() + "?api_key=" + apiKey))
-                .GET()
-                .build();
-
-        // Send the request
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) throw new RuntimeException("Failed to get Summoner ID: " + response.body());
-
-        // Parse and check JSON
-        Summoner summoner = new Summoner(mapper.readTree(response.body()));
-        sql.addSummoner(summoner);
-        return summoner;
+        return await(getSummonerAsync(account, region));
     }
 
     /**
-     * Retrieves an Entry by summoner and region.
+     * Retrieves the Ranked Solo/Duo Entry by summoner and region.
      *
      * @param summoner the summoner of the entry
      * @param region   the region of the entry
@@ -452,24 +820,1428 @@ public class RiotAPI {
      * @throws InvalidParameterException if any parameter is invalid
      */
     public Entry getEntry(Summoner summoner, Region region) throws IOException, InterruptedException {
+        return await(getEntryAsync(summoner, region));
+    }
+
+    /**
+     * Retrieves the Entry of the given queue by summoner and region.
+     *
+     * @param summoner  the summoner of the entry
+     * @param region    the region of the entry
+     * @param queueType the queue type
+     * @return the Entry object, or null if unranked in the queue
+     * @throws IOException              if an I/O error occurs
+     * @throws InterruptedException     if the operation is interrupted
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public Entry getEntry(Summoner summoner, Region region, QueueType queueType) throws IOException, InterruptedException {
+        return await(getEntryAsync(summoner, region, queueType));
+    }
+
+    /**
+     * Retrieves all entries by summoner and region, indexed by queue type.
+     *
+     * @param summoner the summoner of the entries
+     * @param region   the region of the entries
+     * @return a map of the entries by queue type, empty if unranked
+     * @throws IOException              if an I/O error occurs
+     * @throws InterruptedException     if the operation is interrupted
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public Map<QueueType, Entry> getEntries(Summoner summoner, Region region) throws IOException, InterruptedException {
+        return await(getEntriesAsync(summoner, region));
+    }
+
+    /**
+     * Retrieves one page of a ranked ladder below the apex tiers.
+     *
+     * @param region   the region of the ladder
+     * @param queue    the queue type
+     * @param tier     the tier, from {@link Tier#IRON} to {@link Tier#DIAMOND}
+     * @param division the division, from {@code I} to {@code IV}
+     * @param page     the page, starting at 1
+     * @return the entries of the page, empty if the page is past the end of the division
+     * @throws IOException              if an I/O error occurs
+     * @throws InterruptedException     if the operation is interrupted
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public List<Entry> getLeagueEntries(Region region, QueueType queue, Tier tier, String division, int page) throws IOException, InterruptedException {
+        return await(getLeagueEntriesAsync(region, queue, tier, division, page));
+    }
+
+    /**
+     * Retrieves the complete ladder of an apex tier.
+     *
+     * @param region the region of the ladder
+     * @param queue  the queue type
+     * @param tier   the tier, {@link Tier#MASTER}, {@link Tier#GRANDMASTER} or {@link Tier#CHALLENGER}
+     * @return the entries of the tier
+     * @throws IOException              if an I/O error occurs
+     * @throws InterruptedException     if the operation is interrupted
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public List<Entry> getApexLeague(Region region, QueueType queue, Tier tier) throws IOException, InterruptedException {
+        return await(getApexLeagueAsync(region, queue, tier));
+    }
+
+    /**
+     * Asynchronously retrieves one page of a ranked ladder below the apex tiers.
+     *
+     * @param region   the region of the ladder
+     * @param queue    the queue type
+     * @param tier     the tier, from {@link Tier#IRON} to {@link Tier#DIAMOND}
+     * @param division the division, from {@code I} to {@code IV}
+     * @param page     the page, starting at 1
+     * @return a future completing with the entries of the page, empty if the page is past the end of the division
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<List<Entry>> getLeagueEntriesAsync(Region region, QueueType queue, Tier tier, String division, int page) {
 
         // Check Parameters
-        if (summoner == null) throw new InvalidParameterException("Summoner must not be null");
         if (region == null) throw new InvalidParameterException("Region must not be null");
+        if (queue == null) throw new InvalidParameterException("Queue must not be null");
+        if (tier == null || tier == Tier.UNRANKED || isApex(tier)) throw new InvalidParameterException("Tier must be between Iron and Diamond");
+        if (!List.of("I", "II", "III", "IV").contains(division)) throw new InvalidParameterException("Division must be I, II, III or IV");
+        if (page < 1) throw new InvalidParameterException("Page must be at least 1");
 
-        // Construct the request
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(region.getUrl() + GET_ENTRIES + summoner.getSummonerId() + "?api_key=" + apiKey))
-                .GET()
-                .build();
+        // Send the request
+        URI uri = Endpoint.LEAGUE_ENTRIES.uri(getUrl(region), page, queue.getIdentifier(), tier.getIdentifier(), division);
+        return send(region.getRegion(), Endpoint.LEAGUE_ENTRIES, uri).thenApply(response -> {
+            if (response.statusCode() != 200) throw failure("Failed to get League Entries", response, null);
+
+            // Parse and check JSON
+            return parse(response.body(), RiotAPI::readEntries);
+        });
+    }
+
+    /**
+     * Asynchronously retrieves the complete ladder of an apex tier.
+     * The entries are completed with the league ID, queue type and tier of the league.
+     *
+     * @param region the region of the ladder
+     * @param queue  the queue type
+     * @param tier   the tier, {@link Tier#MASTER}, {@link Tier#GRANDMASTER} or {@link Tier#CHALLENGER}
+     * @return a future completing with the entries of the tier
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<List<Entry>> getApexLeagueAsync(Region region, QueueType queue, Tier tier) {
+
+        // Check Parameters
+        if (region == null) throw new InvalidParameterException("Region must not be null");
+        if (queue == null) throw new InvalidParameterException("Queue must not be null");
+        if (tier == null || !isApex(tier)) throw new InvalidParameterException("Tier must be Master, Grandmaster or Challenger");
+
+        // Select the endpoint
+        Endpoint endpoint = switch (tier) {
+            case CHALLENGER -> Endpoint.CHALLENGER_LEAGUE;
+            case GRANDMASTER -> Endpoint.GRANDMASTER_LEAGUE;
+            default -> Endpoint.MASTER_LEAGUE;
+        };
 
         // Send the request
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) throw new RuntimeException("Failed to get Tier Info: " + response.body());
+        return send(region.getRegion(), endpoint, endpoint.uri(getUrl(region), queue.getIdentifier())).thenApply(response -> {
+            if (response.statusCode() != 200) throw failure("Failed to get " + tier.getName() + " League", response, null);
+
+            // Parse and check JSON
+            return parse(response.body(), RiotAPI::readLeagueList);
+        });
+    }
 
-        // Parse and check JSON
-        JsonNode json = mapper.readTree(response.body());
-        if (json.isEmpty()) return null;
-        return new Entry(json.get(0));
+    /**
+     * Checks whether a tier is an apex tier, which is served as a single league list instead of paged divisions.
+     *
+     * @param tier the tier to check
+     * @return true if the tier is Master, Grandmaster or Challenger, otherwise false
+     */
+    public static boolean isApex(Tier tier) {
+        return tier == Tier.MASTER || tier == Tier.GRANDMASTER || tier == Tier.CHALLENGER;
+    }
+
+    /**
+     * Asynchronously retrieves an Account by game name and tag line.
+     * An unknown Riot ID fails with a not found {@link RiotException}, which is remembered by the negative cache.
+     *
+     * @param gameName the game name of the account
+     * @param tagLine  the tag line of the account
+     * @return a future completing with the Account object
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<Account> getAccountAsync(String gameName, String tagLine) {
+
+        // Check Parameters
+        if (gameName == null || tagLine == null)
+            throw new InvalidParameterException("GameName and TagLine must not be null");
+        if (gameName.isEmpty() || tagLine.isEmpty() || gameName.isBlank() || tagLine.isBlank())
+            throw new InvalidParameterException("GameName and TagLine must not be empty");
+        if (gameName.length() > 16 || tagLine.length() > 5)
+            throw new InvalidParameterException("GameName must not be longer than 16 characters and TagLine must not be longer than 5 characters");
+        if (gameName.length() < 3 || tagLine.length() < 3)
+            throw new InvalidParameterException("GameName must not be shorter than 3 characters and TagLine must not be shorter than 3 characters");
+
+        // Send the request, concurrent lookups of the same Riot ID share it
+        String key = (gameName + "#" + tagLine).toLowerCase(Locale.ROOT);
+        String missed = getMiss(key);
+        if (missed != null) return CompletableFuture.failedFuture(new RiotException(missed, RiotException.NOT_FOUND));
+        return accountFlights.execute(key, () -> send(cluster.getCluster(), Endpoint.ACCOUNT_BY_RIOT_ID, Endpoint.ACCOUNT_BY_RIOT_ID.uri(getUrl(cluster), gameName, tagLine)).thenApply(response -> {
+            if (response.statusCode() != 200) throw failure("Failed to get PUUID", response, key);
+
+            // Parse and check JSON
+            return parse(response.body(), Account::new);
+        }).thenApplyAsync(this::store, databaseExecutor));
+    }
+
+    /**
+     * Asynchronously retrieves an Account by PUUID, which also resolves the current Riot ID of a renamed account.
+     *
+     * @param puuid the PUUID of the account
+     * @return a future completing with the Account object
+     * @throws InvalidParameterException if the PUUID is invalid
+     */
+    public CompletableFuture<Account> getAccountByPuuidAsync(String puuid) {
+
+        // Check Parameters
+        if (puuid == null || puuid.isBlank()) throw new InvalidParameterException("PUUID must not be null or empty");
+
+        // Send the request, concurrent lookups of the same PUUID share it
+        String missed = getMiss(puuid);
+        if (missed != null) return CompletableFuture.failedFuture(new RiotException(missed, RiotException.NOT_FOUND));
+        return accountFlights.execute(puuid, () -> send(cluster.getCluster(), Endpoint.ACCOUNT_BY_PUUID, Endpoint.ACCOUNT_BY_PUUID.uri(getUrl(cluster), puuid)).thenApply(response -> {
+            if (response.statusCode() != 200) throw failure("Failed to get Account", response, puuid);
+
+            // Parse and check JSON, the Riot ID may have been unknown before a rename
+            Account account = parse(response.body(), Account::new);
+            negativeCache.invalidate((account.getGameName() + "#" + account.getTagLine()).toLowerCase(Locale.ROOT));
+            return account;
+        }).thenApplyAsync(this::store, databaseExecutor));
+    }
+
+    /**
+     * Asynchronously retrieves a Summoner by account and region.
+     *
+     * @param account the account of the summoner
+     * @param region  the region of the summoner
+     * @return a future completing with the Summoner object
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<Summoner> getSummonerAsync(Account account, Region region) {
+
+        // Check Parameters
+        if (account == null) throw new InvalidParameterException("Account must not be null");
+        if (region == null) throw new InvalidParameterException("Region must not be null");
+
+        // Send the request, concurrent lookups of the same PUUID share it
+        String key = account.getPUUID() + ":" + region.getRegion();
+        String missed = getMiss(key);
+        if (missed != null) return CompletableFuture.failedFuture(new RiotException(missed, RiotException.NOT_FOUND));
+        return summonerFlights.execute(key, () -> send(region.getRegion(), Endpoint.SUMMONER_BY_PUUID, Endpoint.SUMMONER_BY_PUUID.uri(getUrl(region), account.getPUUID())).thenApply(response -> {
+            if (response.statusCode() != 200) throw failure("Failed to get Summoner ID", response, key);
+
+            // Parse and check JSON
+            return parse(response.body(), Summoner::new);
+        }).thenApplyAsync(this::store, databaseExecutor));
+    }
+
+    /**
+     * Asynchronously retrieves the Ranked Solo/Duo Entry by summoner and region.
+     *
+     * @param summoner the summoner of the entry
+     * @param region   the region of the entry
+     * @return a future completing with the Entry object, or with null if not found
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<Entry> getEntryAsync(Summoner summoner, Region region) {
+        return getEntryAsync(summoner, region, QueueType.RANKED_SOLO_5x5);
+    }
+
+    /**
+     * Asynchronously retrieves the Entry of the given queue by summoner and region.
+     *
+     * @param summoner  the summoner of the entry
+     * @param region    the region of the entry
+     * @param queueType the queue type
+     * @return a future completing with the Entry object, or with null if unranked in the queue
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<Entry> getEntryAsync(Summoner summoner, Region region, QueueType queueType) {
+        if (queueType == null) throw new InvalidParameterException("Queue type must not be null");
+        return getEntriesAsync(summoner, region).thenApply(entries -> entries.get(queueType));
+    }
+
+    /**
+     * Asynchronously retrieves all entries by summoner and region, indexed by queue type.
+     *
+     * @param summoner the summoner of the entries
+     * @param region   the region of the entries
+     * @return a future completing with a map of the entries by queue type, empty if unranked
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<Map<QueueType, Entry>> getEntriesAsync(Summoner summoner, Region region) {
+        return getEntryListAsync(summoner, region).thenApply(PlayerProfile::byQueue);
+    }
+
+    /**
+     * Asynchronously retrieves the profile of a player by name, tag, and region.
+     * The account, the summoner and all league entries are composed in one pass.
+     * A stored summoner is used directly and its entries are fetched while the account is looked up,
+     * the summoner is only fetched if none is stored or it expired.
+     * Stored rows are served according to the freshness policy.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the PlayerProfile object
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<PlayerProfile> getProfileAsync(String name, String tag, Region region) {
+
+        // Check Parameters
+        checkParameters(name, tag, region);
+
+        // Check the cache
+        TimedCache<String, PlayerProfile> cache = profileCache;
+        String key = (name + "#" + tag).toLowerCase(Locale.ROOT) + ":" + region.getRegion();
+        PlayerProfile cached = cache.get(key);
+        metrics.recordCacheLookup(Metrics.PROFILE_CACHE, cached != null);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        // Compose the profile, concurrent lookups of the same Riot ID share it
+        return profileFlights.execute(key, () -> {
+
+            // Look up the account and the stored summoner in parallel
+            CompletableFuture<Summoner> stored = CompletableFuture.supplyAsync(() -> sql.getStoredSummoner(name, tag), databaseExecutor)
+                    .thenApply(found -> serve(Metrics.SUMMONER_CACHE, found, Summoner::getPuuid, region));
+            CompletableFuture<Account> account = CompletableFuture.supplyAsync(() -> sql.getStoredAccount(name, tag), databaseExecutor)
+                    .thenApply(found -> serve(Metrics.ACCOUNT_CACHE, found, Account::getPUUID, region))
+                    .thenCompose(found -> found != null ? CompletableFuture.completedFuture(found) : getAccountAsync(name, tag));
+
+            // Fetch the summoner only if none is stored or it expired, then the entries
+            CompletableFuture<Summoner> summoner = stored.thenCompose(found -> found != null
+                    ? CompletableFuture.completedFuture(found)
+                    : account.thenCompose(fetched -> getSummonerAsync(fetched, region)));
+            CompletableFuture<List<Entry>> entries = summoner.thenCompose(found -> getEntryListAsync(found, region));
+
+            // Compose the profile
+            return summoner.thenCombine(entries, (fetched, list) -> {
+                PlayerProfile profile = new PlayerProfile(account.join(), fetched, list);
+                cache.put(key, profile);
+                return profile;
+            });
+        });
+    }
+
+    /**
+     * Asynchronously retrieves all league entries by summoner and region.
+     * Unranked players are remembered by the negative cache, ranked players by the entry cache.
+     * While the circuit of the region is open, the entries stored in the database are served.
+     *
+     * @param summoner the summoner of the entries
+     * @param region   the region of the entries
+     * @return a future completing with the entries, empty if unranked
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    private CompletableFuture<List<Entry>> getEntryListAsync(Summoner summoner, Region region) {
+
+        // Check Parameters
+        if (summoner == null) throw new InvalidParameterException("Summoner must not be null");
+        if (region == null) throw new InvalidParameterException("Region must not be null");
+
+        // Check the cache
+        TimedCache<String, List<Entry>> cache = entryCache;
+        String key = summoner.getPuuid() + ":" + region.getRegion();
+        List<Entry> cached = cache.get(key);
+        metrics.recordCacheLookup(Metrics.ENTRY_CACHE, cached != null);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        if (getMiss(UNRANKED + key) != null) return CompletableFuture.completedFuture(List.of());
+
+        // Serve the stored entries while the region is down
+        if (getCircuitBreaker(region.getRegion()).isOpen()) return CompletableFuture.supplyAsync(() -> sql.getEntries(summoner.getSummonerId()), databaseExecutor);
+
+        // Send the request, concurrent lookups of the same summoner share it
+        return entryFlights.execute(key, () -> send(region.getRegion(), Endpoint.ENTRIES_BY_SUMMONER, Endpoint.ENTRIES_BY_SUMMONER.uri(getUrl(region), summoner.getSummonerId())).thenApply(response -> {
+            if (response.statusCode() != 200) throw failure("Failed to get Tier Info", response, null);
+
+            // Parse and check JSON
+            List<Entry> entries = parse(response.body(), RiotAPI::readEntries);
+            if (entries.isEmpty()) negativeCache.put(UNRANKED + key, "Unranked");
+            else cache.put(key, entries);
+            return entries;
+        }).thenApplyAsync(this::store, databaseExecutor));
+    }
+
+    /**
+     * Asynchronously retrieves a Summoner by name, tag, and region.
+     * The database is checked first, the Riot Games API is only queried on a miss or if the stored summoner expired.
+     * Stale summoners are served directly and refreshed in the background.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the Summoner object
+     * @throws InvalidParameterException if any parameter is invalid
+     */
+    public CompletableFuture<Summoner> getSummonerAsync(String name, String tag, Region region) {
+
+        // Check Parameters
+        checkParameters(name, tag, region);
+
+        // Try to get the summoner from the database, fetch the account and summoner on a miss
+        String key = (name + "#" + tag).toLowerCase(Locale.ROOT) + ":" + region.getRegion();
+        return riotIdFlights.execute(key, () -> CompletableFuture.supplyAsync(() -> sql.getStoredSummoner(name, tag), databaseExecutor).thenCompose(stored -> {
+            Summoner summoner = serve(Metrics.SUMMONER_CACHE, stored, Summoner::getPuuid, region);
+            if (summoner != null) return CompletableFuture.completedFuture(summoner);
+            return getAccountAsync(name, tag).thenCompose(account -> getSummonerAsync(account, region));
+        }));
+    }
+
+    /**
+     * Asynchronously retrieves the profile icon ID of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the profile icon ID, or with null if not found
+     */
+    public CompletableFuture<Integer> getProfileIconIdAsync(String name, String tag, Region region) {
+        return getProfileOrNullAsync(name, tag, region).thenApply(profile -> profile == null ? null : profile.getSummoner().getProfileIconId());
+    }
+
+    /**
+     * Asynchronously retrieves the summoner level of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the summoner level, or with null if not found
+     */
+    public CompletableFuture<Integer> getSummonerLevelAsync(String name, String tag, Region region) {
+        return getProfileOrNullAsync(name, tag, region).thenApply(profile -> profile == null ? null : profile.getSummoner().getSummonerLevel());
+    }
+
+    /**
+     * Asynchronously retrieves the Ranked Solo/Duo entry of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the Entry object, or with null if not found
+     */
+    public CompletableFuture<Entry> getEntryAsync(String name, String tag, Region region) {
+        return getEntryAsync(name, tag, region, QueueType.RANKED_SOLO_5x5);
+    }
+
+    /**
+     * Asynchronously retrieves the entry of a summoner in the given queue by name, tag, and region.
+     * All queues are served from one cached fetch, so asking for several queues costs a single request.
+     *
+     * @param name      the name of the summoner
+     * @param tag       the tag of the summoner
+     * @param region    the region of the summoner
+     * @param queueType the queue type
+     * @return a future completing with the Entry object, or with null if not found or unranked in the queue
+     */
+    public CompletableFuture<Entry> getEntryAsync(String name, String tag, Region region, QueueType queueType) {
+        try {
+
+            // Fetch the entry
+            return getSummonerAsync(name, tag, region)
+                    .thenCompose(summoner -> getEntryAsync(summoner, region, queueType))
+                    .exceptionally(RiotAPI::fallback);
+
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(fallback(e));
+        }
+    }
+
+    /**
+     * Asynchronously retrieves the tier of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the Tier object, or with null if not found
+     */
+    public CompletableFuture<Tier> getTierAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry == null ? null : Tier.getTier(entry.getTier()));
+    }
+
+    /**
+     * Asynchronously retrieves the rank of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the rank as a String, or with null if not found
+     */
+    public CompletableFuture<String> getRankAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry == null ? null : Tier.getTier(entry.getTier()).getName() + " " + entry.getRank());
+    }
+
+    /**
+     * Asynchronously retrieves the league points of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the league points, or with 0 if not found
+     */
+    public CompletableFuture<Integer> getLeaguePointsAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry == null ? 0 : entry.getLeaguePoints());
+    }
+
+    /**
+     * Asynchronously retrieves the number of wins of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the number of wins, or with 0 if not found
+     */
+    public CompletableFuture<Integer> getWinsAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry == null ? 0 : entry.getWins());
+    }
+
+    /**
+     * Asynchronously retrieves the number of losses of a summoner by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the number of losses, or with 0 if not found
+     */
+    public CompletableFuture<Integer> getLossesAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry == null ? 0 : entry.getLosses());
+    }
+
+    /**
+     * Asynchronously checks if a summoner is a veteran by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with true if the summoner is a veteran, otherwise false
+     */
+    public CompletableFuture<Boolean> isVeteranAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry != null && entry.isVeteran());
+    }
+
+    /**
+     * Asynchronously checks if a summoner is inactive by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with true if the summoner is inactive, otherwise false
+     */
+    public CompletableFuture<Boolean> isInactiveAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry != null && entry.isInactive());
+    }
+
+    /**
+     * Asynchronously checks if a summoner is fresh blood by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with true if the summoner is fresh blood, otherwise false
+     */
+    public CompletableFuture<Boolean> isFreshBloodAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry != null && entry.isFreshBlood());
+    }
+
+    /**
+     * Asynchronously checks if a summoner is on a hot streak by name, tag, and region.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with true if the summoner is on a hot streak, otherwise false
+     */
+    public CompletableFuture<Boolean> isHotStreakAsync(String name, String tag, Region region) {
+        return getProfileEntryAsync(name, tag, region).thenApply(entry -> entry != null && entry.isHotStreak());
+    }
+
+    /**
+     * Asynchronously retrieves the profile of a player, or null if the lookup fails.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the PlayerProfile object, or with null if not found
+     */
+    private CompletableFuture<PlayerProfile> getProfileOrNullAsync(String name, String tag, Region region) {
+        try {
+            return getProfileAsync(name, tag, region).exceptionally(RiotAPI::fallback);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(fallback(e));
+        }
+    }
+
+    /**
+     * Asynchronously retrieves the Ranked Solo/Duo entry of a player from the profile.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return a future completing with the Entry object, or with null if not found
+     */
+    private CompletableFuture<Entry> getProfileEntryAsync(String name, String tag, Region region) {
+        return getProfileOrNullAsync(name, tag, region).thenApply(profile -> profile == null ? null : profile.getEntry());
+    }
+
+    /**
+     * Retrieves the Ranked Solo/Duo entry of a player from the profile.
+     *
+     * @param name   the name of the summoner
+     * @param tag    the tag of the summoner
+     * @param region the region of the summoner
+     * @return the Entry object, or null if not found
+     */
+    private Entry getProfileEntry(String name, String tag, Region region) {
+        PlayerProfile profile = getProfile(name, tag, region);
+        return profile == null ? null : profile.getEntry();
+    }
+
+    /**
+     * Applies the freshness policy to a stored row and records whether the database could serve it.
+     * Stale rows trigger a background refresh of the account and summoner by PUUID,
+     * which also corrects the Riot ID of renamed accounts.
+     * While the circuit of the cluster or region is open, stale rows are not refreshed and expired rows are served as well.
+     *
+     * @param cache  the cache name to record the lookup under
+     * @param stored the stored row, or null if none was found
+     * @param puuid  the function returning the PUUID of the row
+     * @param region the region to refresh the summoner in
+     * @param <T>    the type of the row
+     * @return the stored value, or null if none was found or it expired and must be refetched
+     */
+    private <T> T serve(String cache, Stored<T> stored, Function<T, String> puuid, Region region) {
+        T value = stored == null ? null : switch (freshnessPolicy.classify(stored.getLastFetched())) {
+            case FRESH -> stored.getValue();
+            case STALE -> {
+                if (isAvailable(region)) revalidate(puuid.apply(stored.getValue()), region);
+                yield stored.getValue();
+            }
+            case EXPIRED -> isAvailable(region) ? null : stored.getValue();
+        };
+        metrics.recordCacheLookup(cache, value != null);
+        return value;
+    }
+
+    /**
+     * Checks whether the account and summoner of a region can be fetched, that is neither circuit is open.
+     *
+     * @param region the region of the summoner
+     * @return true if both circuits let requests through, otherwise false
+     */
+    private boolean isAvailable(Region region) {
+        return !getCircuitBreaker(cluster.getCluster()).isOpen() && !getCircuitBreaker(region.getRegion()).isOpen();
+    }
+
+    /**
+     * Returns the circuit breaker of a host, creating it on first use.
+     *
+     * @param host the region or cluster
+     * @return the circuit breaker
+     */
+    private CircuitBreaker getCircuitBreaker(String host) {
+        ConcurrentHashMap<String, CircuitBreaker> breakers = circuitBreakers;
+        CircuitBreaker breaker = breakers.get(host);
+        return breaker != null ? breaker : breakers.computeIfAbsent(host, key -> new CircuitBreaker(circuitBreakerPolicy));
+    }
+
+    /**
+     * Returns the admission limit of a host, creating it on first use.
+     *
+     * @param host the region or cluster
+     * @return the semaphore of the pending calls
+     */
+    private Semaphore getAdmission(String host) {
+        ConcurrentHashMap<String, Semaphore> limits = admissions;
+        Semaphore admission = limits.get(host);
+        return admission != null ? admission : limits.computeIfAbsent(host, key -> new Semaphore(admissionLimit));
+    }
+
+    /**
+     * Refreshes the account and summoner of a PUUID in the background.
+     * Concurrent refreshes of the same PUUID and region share one request chain, failures are only logged.
+     *
+     * @param puuid  the PUUID to refresh
+     * @param region the region of the summoner
+     */
+    private void revalidate(String puuid, Region region) {
+        String key = puuid + ":" + region.getRegion();
+        revalidationFlights.execute(key, () -> getAccountByPuuidAsync(puuid).thenCompose(account -> getSummonerAsync(account, region)))
+                .exceptionally(e -> {
+                    System.err.println("Failed to revalidate " + puuid + ": " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Looks up a remembered miss and records the lookup.
+     * Riot IDs contain a {@code #}, summoners are keyed by PUUID and region and unranked players carry a prefix, so the keys do not collide.
+     *
+     * @param key the key of the lookup
+     * @return the message of the miss, or null if the key is not remembered
+     */
+    private String getMiss(String key) {
+        String message = negativeCache.get(key);
+        metrics.recordCacheLookup(Metrics.NEGATIVE_CACHE, message != null);
+        return message;
+    }
+
+    /**
+     * Creates the exception for an unexpected response and remembers a not found response in the negative cache.
+     *
+     * @param message  the message prefix
+     * @param response the response
+     * @param key      the key to remember a not found response under, or null to never remember it
+     * @return the exception to throw
+     */
+    private RiotException failure(String message, HttpResponse<byte[]> response, String key) {
+        RiotException exception = new RiotException(message + ": " + new String(response.body(), StandardCharsets.UTF_8), response.statusCode());
+        if (key != null && exception.isNotFound()) negativeCache.put(key, exception.getMessage());
+        return exception;
+    }
+
+    /**
+     * Persists an account, either directly or through the write-behind queue.
+     *
+     * @param account the account to persist
+     * @return the account
+     */
+    private Account store(Account account) {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) queue.add(account);
+        else sql.addAccount(account);
+        return account;
+    }
+
+    /**
+     * Persists a summoner, either directly or through the write-behind queue.
+     *
+     * @param summoner the summoner to persist
+     * @return the summoner
+     */
+    private Summoner store(Summoner summoner) {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) queue.add(summoner);
+        else sql.addSummoner(summoner);
+        return summoner;
+    }
+
+    /**
+     * Persists league entries, either directly or through the write-behind queue.
+     *
+     * @param entries the entries to persist
+     * @return the entries
+     */
+    private List<Entry> store(List<Entry> entries) {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) for (Entry entry : entries) queue.add(entry);
+        else sql.addEntries(entries);
+        return entries;
+    }
+
+    /**
+     * Returns the base URL of a region, honoring the base URL override.
+     *
+     * @param region the region
+     * @return the base URL
+     */
+    private String getUrl(Region region) {
+        String override = baseUrl;
+        return override != null ? override : region.getUrl();
+    }
+
+    /**
+     * Returns the base URL of a cluster, honoring the base URL override.
+     *
+     * @param cluster the cluster
+     * @return the base URL
+     */
+    private String getUrl(Cluster cluster) {
+        String override = baseUrl;
+        return override != null ? override : cluster.getUrl();
+    }
+
+    /**
+     * Sends an asynchronous GET request to the given URI, paced by the rate limiter and repeated according to the retry policy.
+     * The API key is sent in the {@value #TOKEN_HEADER} header.
+     *
+     * @param host     the host of the request, used as rate limit key
+     * @param endpoint the endpoint of the request, used as rate limit key
+     * @param uri      the URI of the request
+     * @return a future completing with the last response, failing with a {@link HttpTimeoutException} at the deadline
+     * or with a {@link RiotException} of status 503 if the call is shed or the circuit of the host is open
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(String host, Endpoint endpoint, URI uri) {
+
+        // Construct the request
+        HttpRequest request = transport.newRequest(uri)
+                .header(TOKEN_HEADER, apiKey)
+                .build();
+
+        // Admit the call or shed it
+        Semaphore admission = getAdmission(host);
+        if (!admission.tryAcquire()) return CompletableFuture.failedFuture(new RiotException("Too many pending requests for " + host, RiotException.SERVICE_UNAVAILABLE));
+
+        // Send the request
+        RetryPolicy policy = retryPolicy;
+        Call call = new Call(host, endpoint.getPath(), request, policy);
+        CompletableFuture<HttpResponse<byte[]>> response = retry(call);
+
+        // Fail at the deadline
+        if (call.deadline != 0) {
+            long deadline = policy.getDeadline().toMillis();
+            response = response.orTimeout(deadline, TimeUnit.MILLISECONDS).exceptionallyCompose(throwable -> {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                if (cause instanceof TimeoutException && System.nanoTime() - call.deadline >= 0) cause = new HttpTimeoutException("Deadline of " + deadline + " ms exceeded for " + uri.getPath());
+                return CompletableFuture.failedFuture(cause);
+            });
+        }
+
+        // Release the admission once the caller is answered, a hung exchange must not hold it past the deadline
+        response.whenComplete((ignored, throwable) -> admission.release());
+        return response;
+    }
+
+    /**
+     * Sends a call and repeats it while it fails transiently and the retry policy allows it.
+     *
+     * @param call the call
+     * @return a future completing with the last response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> retry(Call call) {
+        return hedge(call).handle((response, throwable) -> {
+            long delay = getRetryDelay(call, response, throwable);
+            if (delay < 0) return throwable == null ? CompletableFuture.completedFuture(response) : CompletableFuture.<HttpResponse<byte[]>>failedFuture(throwable);
+            return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)).thenCompose(ignored -> retry(call));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Decides whether a call is repeated and when.
+     * Requests rejected with 429 are repeated without backoff, the rate limiter holds them until the limit resets.
+     *
+     * @param call      the call
+     * @param response  the response, or null if the attempt failed
+     * @param throwable the failure, or null if a response was received
+     * @return the delay in milliseconds before the call is repeated, or -1 if it is not repeated
+     */
+    private static long getRetryDelay(Call call, HttpResponse<byte[]> response, Throwable throwable) {
+
+        // Classify the outcome
+        RetryPolicy policy = call.policy;
+        long delay;
+        long retryAfter = response == null ? 0 : response.headers().firstValue(RETRY_AFTER).map(RateLimiter::parseRetryAfter).orElse(0L);
+        if (throwable != null) {
+            if (!RetryPolicy.isTransient(throwable) || call.retries >= policy.getMaxRetries()) return -1;
+            delay = policy.getBackoff(call.retries++);
+        } else if (response.statusCode() == 429) {
+            if (call.rateLimitRetries++ >= MAX_RATE_LIMIT_RETRIES) return -1;
+            delay = 0;
+        } else if (RetryPolicy.isTransient(response.statusCode())) {
+            if (call.retries >= policy.getMaxRetries()) return -1;
+            delay = Math.max(policy.getBackoff(call.retries++), retryAfter);
+        } else return -1;
+
+        // Give up if the retry cannot finish before the deadline
+        if (call.deadline != 0 && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(delay, retryAfter)) - call.deadline >= 0) return -1;
+        return delay;
+    }
+
+    /**
+     * Sends an attempt of a call. If hedging is enabled and the attempt is slower than the hedge delay of its endpoint,
+     * a backup request is sent into a free slot of the rate limit. The first response that is not a transient failure wins,
+     * otherwise the outcome of the attempt that finished last.
+     *
+     * @param call the call
+     * @return a future completing with the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> hedge(Call call) {
+
+        // Send the attempt
+        CircuitBreaker breaker = getCircuitBreaker(call.host);
+        CompletableFuture<HttpResponse<byte[]>> primary = attempt(call.host, call.method, call.request, breaker, false);
+        Latency latency = latencies.get(call.method);
+        long delay = latency == null ? -1 : latency.getHedgeDelay(call.policy);
+        if (delay < 0) return primary;
+
+        // Settle on the first usable response
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<HttpResponse<byte[]>, Throwable> settle = (response, throwable) -> {
+            if (throwable == null && !RetryPolicy.isTransient(response.statusCode())) result.complete(response);
+            else if (pending.decrementAndGet() == 0) {
+                if (throwable == null) result.complete(response);
+                else result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            }
+        };
+        primary.whenComplete(settle);
+
+        // Send the backup if the attempt is still pending and a slot is free right away,
+        // a failed attempt settles the result once it sees no backup pending, so the check is repeated after counting it
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || breaker.getState() != CircuitBreaker.State.CLOSED || rateLimiter.reserve(call.host, call.method) > 0) return;
+            pending.incrementAndGet();
+            if (result.isDone()) return;
+            attempt(call.host, call.method, call.request, breaker, true).whenComplete(settle);
+        });
+        return result;
+    }
+
+    /**
+     * Sends a request if the circuit breaker of the host lets it through.
+     *
+     * @param host     the host of the request
+     * @param method   the endpoint of the request
+     * @param request  the request to send
+     * @param breaker  the circuit breaker of the host
+     * @param reserved whether a rate limit slot was already reserved for the request
+     * @return a future completing with the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> attempt(String host, String method, HttpRequest request, CircuitBreaker breaker, boolean reserved) {
+        if (!breaker.tryAcquire()) return CompletableFuture.failedFuture(new RiotException("Circuit of " + host + " is open", RiotException.SERVICE_UNAVAILABLE));
+        return reserved ? exchange(host, method, request, breaker) : pace(host, method, request, breaker);
+    }
+
+    /**
+     * Sends a request once the rate limiter grants a slot.
+     *
+     * @param host    the host of the request
+     * @param method  the endpoint of the request
+     * @param request the request to send
+     * @param breaker the circuit breaker of the host
+     * @return a future completing with the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> pace(String host, String method, HttpRequest request, CircuitBreaker breaker) {
+
+        // Wait for a free slot
+        long wait = rateLimiter.reserve(host, method);
+        if (wait > 0) {
+            metrics.recordRateLimitWait(host, method, wait);
+            return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> pace(host, method, request, breaker));
+        }
+
+        // Send the request
+        return exchange(host, method, request, breaker);
+    }
+
+    /**
+     * Sends a request into a reserved slot, records its latency and outcome and updates the rate limiter from the response.
+     *
+     * @param host    the host of the request
+     * @param method  the endpoint of the request
+     * @param request the request to send
+     * @param breaker the circuit breaker of the host
+     * @return a future completing with the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> exchange(String host, String method, HttpRequest request, CircuitBreaker breaker) {
+        Metrics metrics = this.metrics;
+        metrics.requestStarted();
+        long start = System.nanoTime();
+        return transport.send(request).whenComplete((response, throwable) -> {
+            long nanos = System.nanoTime() - start;
+            metrics.requestFinished();
+            metrics.recordRequest(method, response == null ? 0 : response.statusCode(), nanos);
+            breaker.record(response == null ? RetryPolicy.isTransient(throwable) : response.statusCode() >= 500, nanos);
+            if (response != null) {
+                Latency latency = latencies.get(method);
+                if (latency == null) latency = latencies.computeIfAbsent(method, key -> new Latency());
+                latency.histogram.record(nanos);
+                rateLimiter.update(host, method, response.statusCode(), response.headers());
+            }
+        });
+    }
+
+    /**
+     * Streams a response body into a model object without building a JSON tree.
+     *
+     * @param body   the response body
+     * @param reader the reader consuming the parser positioned on the first token
+     * @param <T>    the model type
+     * @return the parsed object
+     * @throws UncheckedIOException if the body is not valid JSON
+     */
+    private <T> T parse(byte[] body, JsonReader<T> reader) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.nextToken();
+            return reader.read(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a JSON array of league entries.
+     *
+     * @param parser the parser positioned on the start of the array
+     * @return the entries, empty if unranked
+     * @throws IOException if the JSON is malformed
+     */
+    static List<Entry> readEntries(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) throw new IOException("Expected an array of entries");
+        ArrayList<Entry> entries = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) entries.add(new Entry(parser));
+        return List.copyOf(entries);
+    }
+
+    /**
+     * Reads a league list of an apex tier.
+     * The entries of a league list carry neither league ID, queue type nor tier, so they are taken from the list.
+     *
+     * @param parser the parser positioned on the start of the league list object
+     * @return the completed entries
+     * @throws IOException if the JSON is malformed
+     */
+    static List<Entry> readLeagueList(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) throw new IOException("Expected a league list object");
+
+        // Read the fields
+        String leagueId = null;
+        String queue = null;
+        String tier = null;
+        List<Entry> entries = List.of();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "leagueId" -> leagueId = parser.getValueAsString();
+                case "queue" -> queue = parser.getValueAsString();
+                case "tier" -> tier = parser.getValueAsString();
+                case "entries" -> entries = readEntries(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Complete the entries
+        ArrayList<Entry> completed = new ArrayList<>(entries.size());
+        for (Entry entry : entries) completed.add(new Entry(
+                leagueId,
+                queue,
+                tier,
+                entry.getRank(),
+                entry.getSummonerId(),
+                entry.getLeaguePoints(),
+                entry.getWins(),
+                entry.getLosses(),
+                entry.isVeteran(),
+                entry.isInactive(),
+                entry.isFreshBlood(),
+                entry.isHotStreak()
+        ));
+        return List.copyOf(completed);
+    }
+
+    /**
+     * Waits for a future and unwraps its failure into the exceptions of the blocking API.
+     *
+     * @param future the future to wait for
+     * @param <T>    the result type
+     * @return the result of the future
+     * @throws IOException          if the future failed with an I/O error
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) throw unchecked.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof InterruptedException interrupted) throw interrupted;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Logs a failed lookup and returns null, mirroring the error handling of the blocking getters.
+     *
+     * @param throwable the failure
+     * @param <T>       the result type
+     * @return null
+     */
+    private static <T> T fallback(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        System.err.println(cause.getMessage());
+        return null;
+    }
+
+    /**
+     * Configures and creates a RiotAPI instance.
+     * Unless a transport is given, a {@link HttpTransport} is created from the HTTP settings of the builder,
+     * on the given shared client or on a new client owned by the instance.
+     */
+    public static class Builder {
+
+        // Attributes
+        private String apiKey;
+        private Cluster cluster;
+        private SQL sql;
+        private Driver.DatabaseType databaseType;
+        private JsonNode databaseConfig;
+        private Transport transport;
+        private HttpClient httpClient;
+        private Executor executor;
+        private Executor databaseExecutor;
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = HttpTransport.DEFAULT_CONNECT_TIMEOUT;
+        private Duration readTimeout = HttpTransport.DEFAULT_READ_TIMEOUT;
+        private boolean gzip = true;
+        private Metrics metrics;
+        private RetryPolicy retryPolicy;
+        private CircuitBreakerPolicy circuitBreakerPolicy;
+        private int admissionLimit;
+        private IdentityStore identityStore;
+        private String baseUrl;
+
+        /**
+         * Constructs an empty Builder.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the API key for accessing the Riot Games API.
+         *
+         * @param apiKey the API key
+         * @return this builder
+         */
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Sets the cluster to use for account requests.
+         *
+         * @param cluster the cluster
+         * @return this builder
+         */
+        public Builder cluster(Cluster cluster) {
+            this.cluster = cluster;
+            return this;
+        }
+
+        /**
+         * Sets an existing database handler, which can be shared between several instances. The handler is not closed with the instance.
+         *
+         * @param sql the database handler
+         * @return this builder
+         */
+        public Builder sql(SQL sql) {
+            this.sql = sql;
+            databaseType = null;
+            databaseConfig = null;
+            return this;
+        }
+
+        /**
+         * Configures a new database handler, which is connected by {@link #build()} and closed with the instance.
+         *
+         * @param databaseType   the database type
+         * @param databaseConfig the database configuration as a JsonNode
+         * @return this builder
+         */
+        public Builder database(Driver.DatabaseType databaseType, JsonNode databaseConfig) {
+            this.databaseType = databaseType;
+            this.databaseConfig = databaseConfig;
+            sql = null;
+            return this;
+        }
+
+        /**
+         * Sets a transport, e.g. one shared with other instances. The transport is not closed with the instance
+         * and the HTTP settings of this builder are ignored.
+         *
+         * @param transport the transport
+         * @return this builder
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sets a shared HTTP client. The client is not closed with the instance
+         * and the executor, version and connect timeout of this builder are ignored.
+         *
+         * @param httpClient the client
+         * @return this builder
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the executor of the HTTP client, e.g. {@link Executors#newVirtualThreadPerTaskExecutor()}.
+         *
+         * @param executor the executor, or null for the default executor of the client
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs the blocking database calls of the asynchronous methods.
+         * Defaults to a virtual thread per call, the executor is not shut down with the instance.
+         *
+         * @param databaseExecutor the executor
+         * @return this builder
+         */
+        public Builder databaseExecutor(Executor databaseExecutor) {
+            this.databaseExecutor = databaseExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the preferred HTTP version. Defaults to HTTP/2, which multiplexes all requests to a host over one connection.
+         *
+         * @param version the HTTP version
+         * @return this builder
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to establish a connection. Defaults to {@link HttpTransport#DEFAULT_CONNECT_TIMEOUT}.
+         *
+         * @param connectTimeout the timeout, or null for no limit
+         * @return this builder
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time from sending a request until its body has been read. Defaults to {@link HttpTransport#DEFAULT_READ_TIMEOUT}.
+         *
+         * @param readTimeout the timeout, or null for no limit
+         * @return this builder
+         */
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * Sets whether responses are requested gzip compressed and decompressed transparently. Enabled by default.
+         *
+         * @param gzip whether to request compressed responses
+         * @return this builder
+         */
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        /**
+         * Sets the metrics of the instance. Defaults to a new {@link JmxMetrics}.
+         *
+         * @param metrics the metrics
+         * @return this builder
+         */
+        public Builder metrics(Metrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Sets how failed and slow requests are repeated.
+         *
+         * @param retryPolicy the retry policy
+         * @return this builder
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Sets when the circuit of a region or cluster opens.
+         *
+         * @param circuitBreakerPolicy the circuit breaker policy
+         * @return this builder
+         */
+        public Builder circuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+            this.circuitBreakerPolicy = circuitBreakerPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pending calls per region and cluster, further calls are shed.
+         *
+         * @param admissionLimit the admission limit
+         * @return this builder
+         */
+        public Builder admissionLimit(int admissionLimit) {
+            this.admissionLimit = admissionLimit;
+            return this;
+        }
+
+        /**
+         * Sets the off-heap identity store that serves accounts and summoners in front of the database.
+         *
+         * @param identityStore the identity store
+         * @return this builder
+         */
+        public Builder identityStore(IdentityStore identityStore) {
+            this.identityStore = identityStore;
+            return this;
+        }
+
+        /**
+         * Overrides the base URL of all regions and clusters, e.g. to point the instance at a local stub server.
+         *
+         * @param baseUrl the base URL without trailing slash
+         * @return this builder
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * Creates the RiotAPI instance.
+         *
+         * @return the RiotAPI instance
+         * @throws InvalidParameterException if the API key, cluster or database is missing
+         * @throws IllegalArgumentException  if a HTTP setting is invalid
+         */
+        public RiotAPI build() {
+
+            // Check Parameters
+            if (apiKey == null || apiKey.isBlank()) throw new InvalidParameterException("API key must not be null or empty");
+            if (cluster == null) throw new InvalidParameterException("Cluster must not be null");
+            if (sql == null && (databaseType == null || databaseConfig == null)) throw new InvalidParameterException("Database must not be null");
+
+            // Select the transport
+            boolean ownsTransport = transport == null;
+            Transport selected = transport;
+            if (selected == null) {
+                boolean ownsClient = httpClient == null;
+                HttpClient client = ownsClient ? HttpTransport.newHttpClient(executor, version, connectTimeout) : httpClient;
+                selected = new HttpTransport(client, readTimeout, gzip, ownsClient);
+            }
+
+            // Connect the database
+            boolean ownsSql = sql == null;
+            SQL handler = ownsSql ? new SQL(databaseType, databaseConfig) : sql;
+
+            // Create the instance, closing what it owns if a setting is rejected
+            RiotAPI riotAPI = new RiotAPI(apiKey, cluster, handler, ownsSql, selected, ownsTransport);
+            try {
+                if (metrics != null) riotAPI.setMetrics(metrics);
+                if (databaseExecutor != null) riotAPI.setDatabaseExecutor(databaseExecutor);
+                if (retryPolicy != null) riotAPI.setRetryPolicy(retryPolicy);
+                if (circuitBreakerPolicy != null) riotAPI.setCircuitBreakerPolicy(circuitBreakerPolicy);
+                if (admissionLimit > 0) riotAPI.setAdmissionLimit(admissionLimit);
+                if (baseUrl != null) riotAPI.setBaseUrl(baseUrl);
+                if (identityStore != null) handler.setIdentityStore(identityStore);
+            } catch (RuntimeException e) {
+                riotAPI.close();
+                throw e;
+            }
+            return riotAPI;
+        }
+    }
+
+    /**
+     * The state of a request across its retries. The attempts of a call run one after another,
+     * so the counters are only touched by one thread at a time.
+     */
+    private static class Call {
+
+        // Attributes
+        private final String host;
+        private final String method;
+        private final HttpRequest request;
+        private final RetryPolicy policy;
+        private final long deadline;
+        private int retries;
+        private int rateLimitRetries;
+
+        /**
+         * Constructs a Call starting now.
+         *
+         * @param host    the host of the request
+         * @param method  the endpoint of the request
+         * @param request the request to send
+         * @param policy  the retry policy
+         */
+        private Call(String host, String method, HttpRequest request, RetryPolicy policy) {
+            this.host = host;
+            this.method = method;
+            this.request = request;
+            this.policy = policy;
+            long timeout = policy.getDeadline().toNanos();
+            this.deadline = timeout == 0 ? 0 : (System.nanoTime() + timeout) | 1;
+        }
+    }
+
+    /**
+     * The latencies of an endpoint and the hedge delay derived from them.
+     * The delay is recomputed at most every {@link #HEDGE_REFRESH} or when the retry policy changes,
+     * so attempts do not scan the histogram. Concurrent refreshes compute the same value, so they are not synchronized.
+     */
+    private static class Latency {
+
+        // Attributes
+        private final LatencyHistogram histogram;
+        private volatile RetryPolicy policy;
+        private volatile long hedgeDelay;
+        private volatile long refreshAt;
+
+        /**
+         * Constructs an empty Latency.
+         */
+        private Latency() {
+            histogram = new LatencyHistogram();
+            refreshAt = System.nanoTime();
+        }
+
+        /**
+         * Returns the hedge delay of the endpoint under a retry policy.
+         *
+         * @param policy the retry policy
+         * @return the hedge delay in nanoseconds, or -1 if no backup request should be sent
+         */
+        private long getHedgeDelay(RetryPolicy policy) {
+            long now = System.nanoTime();
+            if (policy != this.policy || now - refreshAt >= 0) {
+                hedgeDelay = policy.getHedgeDelay(histogram);
+                this.policy = policy;
+                refreshAt = now + HEDGE_REFRESH;
+            }
+            return hedgeDelay;
+        }
+    }
+
+    /**
+     * Reads a model object from a streaming JSON parser.
+     *
+     * @param <T> the model type
+     */
+    @FunctionalInterface
+    private interface JsonReader<T> {
+
+        /**
+         * Reads the object at the current position of the parser.
+         *
+         * @param parser the parser
+         * @return the read object
+         * @throws IOException if the JSON is malformed
+         */
+        T read(JsonParser parser) throws IOException;
     }
-}
\ No newline at end of file
+}
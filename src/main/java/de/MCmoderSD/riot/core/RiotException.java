@@ -0,0 +1,50 @@
+package de.MCmoderSD.riot.core;
+
+import java.io.Serial;
+
+/**
+ * Thrown when the Riot Games API answers a request with an unexpected status code.
+ * A not found answer is final for the requested player, every other code is treated as a transient failure.
+ * Requests that are shed or rejected by an open circuit are not sent and fail with status 503 as well.
+ */
+@SuppressWarnings("unused")
+public class RiotException extends RuntimeException {
+
+    // Constants
+    @Serial
+    private static final long serialVersionUID = 1L;
+    public static final int NOT_FOUND = 404;
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    // Attributes
+    private final int statusCode;
+
+    /**
+     * Constructs a RiotException with the given message and status code.
+     *
+     * @param message    the message
+     * @param statusCode the status code of the response
+     */
+    public RiotException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Returns the status code of the response.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Checks whether the requested player does not exist.
+     *
+     * @return true if the status code is 404, otherwise false
+     */
+    public boolean isNotFound() {
+        return statusCode == NOT_FOUND;
+    }
+}
@@ -0,0 +1,42 @@
+package de.MCmoderSD.riot.core;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries the requests of a RiotAPI to the Riot Games API.
+ * A transport is thread-safe and can be shared between several RiotAPI instances.
+ *
+ * @see HttpTransport
+ */
+@SuppressWarnings("unused")
+public interface Transport extends AutoCloseable {
+
+    /**
+     * Creates a request builder for the given URI with the settings of the transport, e.g. timeouts and headers.
+     *
+     * @param uri the URI of the request
+     * @return the request builder
+     */
+    default HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri);
+    }
+
+    /**
+     * Sends a request asynchronously.
+     * The returned response carries the decoded body, independent of any content encoding used on the wire.
+     *
+     * @param request the request, created by {@link #newRequest(URI)}
+     * @return a future completing with the response, or exceptionally if the request failed or timed out
+     */
+    CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request);
+
+    /**
+     * Releases the resources of the transport. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,343 @@
+package de.MCmoderSD.riot.database;
+
+import de.MCmoderSD.riot.metrics.Metrics;
+import de.MCmoderSD.sql.Driver;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe pool of database connections.
+ * Every pooled connection is backed by its own {@link Driver}, so connections are never shared between threads.
+ * Connections that were idle for longer than {@value #VALIDATION_INTERVAL} seconds are validated before they are handed out
+ * and reconnected if they went stale, recently used connections are handed out without a round trip.
+ * Connections that were closed by the driver or invalidated after a failure are discarded when they are returned.
+ * Each connection keeps a bounded cache of prepared statements that survives between borrows.
+ */
+@SuppressWarnings("unused")
+public class ConnectionPool implements AutoCloseable {
+
+    // Constants
+    private static final int VALIDATION_TIMEOUT = 2;
+    private static final int VALIDATION_INTERVAL = 30;
+    private static final long VALIDATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(VALIDATION_INTERVAL);
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Attributes
+    private final Supplier<Driver> factory;
+    private final int maxSize;
+    private final long acquireTimeout;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Slot> idle;
+    private volatile Metrics metrics;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a ConnectionPool.
+     *
+     * @param factory        the factory creating a new, unshared driver for every pooled connection
+     * @param maxSize        the maximum number of connections
+     * @param acquireTimeout the maximum time to wait for a free connection
+     * @throws IllegalArgumentException if the maximum size is not positive or the timeout is negative
+     */
+    public ConnectionPool(Supplier<Driver> factory, int maxSize, Duration acquireTimeout) {
+
+        // Check Parameters
+        if (factory == null) throw new IllegalArgumentException("Factory must not be null");
+        if (maxSize < 1) throw new IllegalArgumentException("Max size must be at least 1");
+        if (acquireTimeout == null || acquireTimeout.isNegative()) throw new IllegalArgumentException("Acquire timeout must not be null or negative");
+
+        // Init Attributes
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.acquireTimeout = acquireTimeout.toNanos();
+        permits = new Semaphore(maxSize, true);
+        idle = new ConcurrentLinkedDeque<>();
+        metrics = Metrics.NOOP;
+    }
+
+    /**
+     * Sets the metrics that receive the latency of named acquisitions.
+     *
+     * @param metrics the metrics
+     * @throws IllegalArgumentException if the metrics are null
+     */
+    public void setMetrics(Metrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException("Metrics must not be null");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Acquires a connection from the pool, validating it if it was idle for long.
+     * The connection must be closed to return it to the pool.
+     *
+     * @return the pooled connection
+     * @throws SQLException if no connection is available within the acquire timeout or connecting fails
+     */
+    public PooledConnection acquire() throws SQLException {
+        return acquire(null);
+    }
+
+    /**
+     * Acquires a connection from the pool for a named database operation, validating it if it was idle for long.
+     * When the connection is closed, the time from this call on, including the wait for a free connection,
+     * is recorded as the latency of the operation.
+     *
+     * @param query the name of the operation, or null to record nothing
+     * @return the pooled connection
+     * @throws SQLException if no connection is available within the acquire timeout or connecting fails
+     */
+    public PooledConnection acquire(String query) throws SQLException {
+        long start = System.nanoTime();
+
+        // Check if the pool is closed
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        // Wait for a free slot
+        try {
+            if (!permits.tryAcquire(acquireTimeout, TimeUnit.NANOSECONDS)) throw new SQLException("Timed out waiting for a database connection");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        // Reuse an idle connection or create a new one
+        try {
+            Slot slot = idle.pollFirst();
+            if (slot == null) slot = new Slot(factory.get());
+            if (!slot.driver.isConnected() || System.nanoTime() - slot.lastUsed > VALIDATION_INTERVAL_NANOS && !isValid(slot.driver)) {
+                slot.closeStatements();
+                slot.driver.connect();
+            }
+            return new PooledConnection(this, slot, query, start);
+        } catch (Exception e) {
+            permits.release();
+            if (e instanceof SQLException sqlException) throw sqlException;
+            if (e instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Returns a connection to the pool.
+     *
+     * @param slot   the connection to return
+     * @param broken whether the connection failed and must not be reused
+     */
+    private void release(Slot slot, boolean broken) {
+        try {
+            if (closed || broken || !slot.driver.isConnected()) slot.disconnect();
+            else {
+                slot.lastUsed = System.nanoTime();
+                idle.offerFirst(slot);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Checks whether the connection of a driver is open and valid.
+     *
+     * @param driver the driver to check
+     * @return true if the connection is valid, otherwise false
+     */
+    private static boolean isValid(Driver driver) {
+        try {
+            return driver.isConnected() && driver.getConnection().isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the maximum number of connections.
+     *
+     * @return the maximum number of connections
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of idle connections.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes all idle connections. Connections in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Slot slot;
+        while ((slot = idle.pollFirst()) != null) slot.disconnect();
+    }
+
+    /**
+     * A pooled driver together with its prepared statement cache.
+     * A slot is only ever used by the thread that borrowed it.
+     */
+    private static class Slot {
+
+        // Associations
+        private final Driver driver;
+
+        // Attributes
+        private final LinkedHashMap<String, PreparedStatement> statements;
+        private long lastUsed;
+
+        /**
+         * Constructs a Slot for the given driver.
+         *
+         * @param driver the driver holding the connection
+         */
+        private Slot(Driver driver) {
+            this.driver = driver;
+            lastUsed = System.nanoTime();
+            statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= STATEMENT_CACHE_SIZE) return false;
+                    close(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Returns the cached statement for the given SQL or prepares a new one.
+         *
+         * @param sql the SQL statement
+         * @return the prepared statement with cleared parameters
+         * @throws SQLException if preparing the statement fails
+         */
+        private PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement != null && !statement.isClosed()) {
+                statement.clearParameters();
+                return statement;
+            }
+            statement = driver.getConnection().prepareStatement(sql);
+            statements.put(sql, statement);
+            return statement;
+        }
+
+        /**
+         * Closes and forgets all cached statements.
+         */
+        private void closeStatements() {
+            for (PreparedStatement statement : statements.values()) close(statement);
+            statements.clear();
+        }
+
+        /**
+         * Closes all cached statements and disconnects the driver, ignoring failures.
+         */
+        private void disconnect() {
+            closeStatements();
+            try {
+                driver.disconnect();
+            } catch (Exception e) {
+                System.err.println(e.getMessage());
+            }
+        }
+
+        /**
+         * Closes a statement and ignores failures.
+         *
+         * @param statement the statement to close
+         */
+        private static void close(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A connection borrowed from the pool. Closing it returns it to the pool.
+     */
+    public static class PooledConnection implements AutoCloseable {
+
+        // Associations
+        private final ConnectionPool pool;
+        private final Slot slot;
+
+        // Attributes
+        private final String query;
+        private final long start;
+        private boolean broken;
+        private boolean released;
+
+        /**
+         * Constructs a PooledConnection.
+         *
+         * @param pool  the owning pool
+         * @param slot  the borrowed connection
+         * @param query the name of the operation, or null
+         * @param start the time the connection was requested in nanoseconds
+         */
+        private PooledConnection(ConnectionPool pool, Slot slot, String query, long start) {
+            this.pool = pool;
+            this.slot = slot;
+            this.query = query;
+            this.start = start;
+        }
+
+        /**
+         * Returns the underlying connection.
+         *
+         * @return the connection
+         */
+        public Connection getConnection() {
+            return slot.driver.getConnection();
+        }
+
+        /**
+         * Returns a cached prepared statement for the given SQL.
+         * The statement belongs to the connection and must not be closed by the caller,
+         * its result sets however must be closed before the connection is returned.
+         *
+         * @param sql the SQL statement
+         * @return the prepared statement with cleared parameters
+         * @throws SQLException if preparing the statement fails
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            return slot.prepare(sql);
+        }
+
+        /**
+         * Marks the connection as broken so it is discarded instead of reused,
+         * e.g. after a failed transaction left it in an unknown state.
+         */
+        public void invalidate() {
+            broken = true;
+        }
+
+        /**
+         * Returns the connection to the pool and records the latency of a named operation.
+         */
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            pool.release(slot, broken);
+            if (query != null) pool.metrics.recordQuery(query, System.nanoTime() - start);
+        }
+    }
+}
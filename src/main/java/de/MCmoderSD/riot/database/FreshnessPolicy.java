@@ -0,0 +1,82 @@
+package de.MCmoderSD.riot.database;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Decides whether a stored row can be served as it is, by its age since it was last fetched.
+ * <ul>
+ *     <li>{@link Freshness#FRESH} rows are served directly.</li>
+ *     <li>{@link Freshness#STALE} rows are served directly while they are refreshed in the background.</li>
+ *     <li>{@link Freshness#EXPIRED} rows are refetched before anything is served.</li>
+ * </ul>
+ */
+@SuppressWarnings("unused")
+public class FreshnessPolicy {
+
+    // Constants
+    public static final FreshnessPolicy DEFAULT = new FreshnessPolicy(Duration.ofHours(1), Duration.ofDays(1));
+
+    // Attributes
+    private final Duration staleAfter;
+    private final Duration expireAfter;
+
+    /**
+     * Constructs a FreshnessPolicy.
+     *
+     * @param staleAfter  the age after which a row is refreshed in the background
+     * @param expireAfter the age after which a row is refetched before it is served
+     * @throws IllegalArgumentException if a duration is null or negative, or a row would expire before it goes stale
+     */
+    public FreshnessPolicy(Duration staleAfter, Duration expireAfter) {
+
+        // Check Parameters
+        if (staleAfter == null || staleAfter.isNegative()) throw new IllegalArgumentException("Stale after must not be null or negative");
+        if (expireAfter == null || expireAfter.isNegative()) throw new IllegalArgumentException("Expire after must not be null or negative");
+        if (expireAfter.compareTo(staleAfter) < 0) throw new IllegalArgumentException("Expire after must not be shorter than stale after");
+
+        // Init Attributes
+        this.staleAfter = staleAfter;
+        this.expireAfter = expireAfter;
+    }
+
+    /**
+     * Classifies a row by the time it was last fetched.
+     *
+     * @param lastFetched the time the row was last fetched
+     * @return the freshness of the row
+     */
+    public Freshness classify(Instant lastFetched) {
+        Duration age = Duration.between(lastFetched, Instant.now());
+        if (age.compareTo(staleAfter) < 0) return Freshness.FRESH;
+        if (age.compareTo(expireAfter) < 0) return Freshness.STALE;
+        return Freshness.EXPIRED;
+    }
+
+    /**
+     * Returns the age after which a row is refreshed in the background.
+     *
+     * @return the stale age
+     */
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    /**
+     * Returns the age after which a row is refetched before it is served.
+     *
+     * @return the expire age
+     */
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+
+    /**
+     * The freshness of a stored row.
+     */
+    public enum Freshness {
+        FRESH,
+        STALE,
+        EXPIRED
+    }
+}
@@ -0,0 +1,585 @@
+package de.MCmoderSD.riot.database;
+
+import de.MCmoderSD.riot.objects.Account;
+import de.MCmoderSD.riot.objects.Summoner;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, off-heap store of accounts and summoners keyed by PUUID and by Riot ID.
+ * Every player occupies one fixed-size slot of {@value #SLOT_SIZE} bytes in direct memory,
+ * so millions of players neither grow the heap nor add work for the garbage collector.
+ * Only the objects returned by a lookup are allocated on the heap.
+ * <p>
+ * The slots are grouped into sets of {@value #WAYS} by the hash of the PUUID.
+ * A full set evicts its least recently used slot, so the store never exceeds its capacity.
+ * A second table maps the hash of the normalized Riot ID, lower case game name and tag line, to a slot;
+ * its entries are verified against the slot on every lookup, so entries of evicted or renamed players simply miss.
+ * Sets are guarded by striped locks, lookups and updates of different players rarely contend.
+ * <p>
+ * Values whose encoded form exceeds the column sizes of the database are not stored.
+ */
+@SuppressWarnings("unused")
+public class IdentityStore {
+
+    // Constants
+    public static final int MAX_CAPACITY = 1 << 27;
+    private static final int WAYS = 8;
+    private static final int STRIPES = 4096;
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    // Field sizes
+    private static final int MAX_PUUID = 78;
+    private static final int MAX_GAME_NAME = 64;
+    private static final int MAX_TAG_LINE = 20;
+    private static final int MAX_SUMMONER_ID = 63;
+    private static final int MAX_ACCOUNT_ID = 56;
+
+    // Slot layout, strings are stored as a length byte followed by the encoded bytes
+    private static final int HASH = 0;
+    private static final int RIOT_ID_HASH = 8;
+    private static final int ACCOUNT_FETCHED = 16;
+    private static final int SUMMONER_FETCHED = 24;
+    private static final int ACCESSED = 32;
+    private static final int PROFILE_ICON_ID = 36;
+    private static final int SUMMONER_LEVEL = 40;
+    private static final int PUUID = 44;
+    private static final int GAME_NAME = PUUID + 1 + MAX_PUUID;
+    private static final int TAG_LINE = GAME_NAME + 1 + MAX_GAME_NAME;
+    private static final int SUMMONER_ID = TAG_LINE + 1 + MAX_TAG_LINE;
+    private static final int ACCOUNT_ID = SUMMONER_ID + 1 + MAX_SUMMONER_ID;
+    private static final int SLOT_SIZE = (ACCOUNT_ID + 1 + MAX_ACCOUNT_ID + 7) & ~7;
+    private static final int INDEX_ENTRY_SIZE = 8;
+
+    // Attributes
+    private final int capacity;
+    private final int setMask;
+    private final int slotsPerSegment;
+    private final ByteBuffer[] segments;
+    private final ByteBuffer index;
+    private final Object[] locks;
+    private final AtomicLong size;
+
+    /**
+     * Constructs an empty IdentityStore and allocates its direct memory.
+     *
+     * @param capacity the maximum number of players, rounded up to a power of two of at least {@value #WAYS}
+     * @throws IllegalArgumentException if the capacity is not positive or exceeds {@link #MAX_CAPACITY}
+     */
+    public IdentityStore(int capacity) {
+
+        // Check Parameters
+        if (capacity < 1 || capacity > MAX_CAPACITY) throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+
+        // Init Attributes
+        this.capacity = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        setMask = this.capacity / WAYS - 1;
+        slotsPerSegment = Integer.MAX_VALUE / SLOT_SIZE / WAYS * WAYS;
+        segments = new ByteBuffer[(this.capacity + slotsPerSegment - 1) / slotsPerSegment];
+        for (int i = 0; i < segments.length; i++) segments[i] = ByteBuffer.allocateDirect(Math.min(slotsPerSegment, this.capacity - i * slotsPerSegment) * SLOT_SIZE);
+        index = ByteBuffer.allocateDirect(this.capacity * INDEX_ENTRY_SIZE);
+        locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) locks[i] = new Object();
+        size = new AtomicLong();
+    }
+
+    /**
+     * Stores an account. A stored summoner of the same PUUID is kept.
+     * An older fetch time than the stored one leaves the account unchanged.
+     *
+     * @param account     the account to store
+     * @param lastFetched the time the account was fetched from the Riot Games API
+     * @return true if the account fits into a slot, otherwise false
+     */
+    public boolean put(Account account, Instant lastFetched) {
+
+        // Encode the fields
+        String puuid = account.getPUUID();
+        byte[] gameName = account.getGameName() == null ? null : account.getGameName().getBytes(StandardCharsets.UTF_8);
+        byte[] tagLine = account.getTagLine() == null ? null : account.getTagLine().getBytes(StandardCharsets.UTF_8);
+        if (!isAscii(puuid, MAX_PUUID) || gameName == null || gameName.length > MAX_GAME_NAME || tagLine == null || tagLine.length > MAX_TAG_LINE) return false;
+        long fetched = lastFetched.toEpochMilli();
+        long hash = hash(puuid);
+        long riotIdHash = hash(account.getGameName(), account.getTagLine());
+
+        // Write the slot
+        int set = (int) hash & setMask;
+        int slot;
+        synchronized (lock(set)) {
+            slot = acquire(set, hash, puuid);
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            if (segment.getLong(base + ACCOUNT_FETCHED) > fetched) return true;
+            segment.putLong(base + ACCOUNT_FETCHED, fetched);
+            segment.putLong(base + RIOT_ID_HASH, riotIdHash);
+            putBytes(segment, base + GAME_NAME, gameName);
+            putBytes(segment, base + TAG_LINE, tagLine);
+        }
+
+        // Point the Riot ID at the slot
+        link(riotIdHash, slot);
+        return true;
+    }
+
+    /**
+     * Stores a summoner. A stored account of the same PUUID is kept.
+     * An older fetch time than the stored one leaves the summoner unchanged.
+     *
+     * @param summoner    the summoner to store
+     * @param lastFetched the time the summoner was fetched from the Riot Games API
+     * @return true if the summoner fits into a slot, otherwise false
+     */
+    public boolean put(Summoner summoner, Instant lastFetched) {
+
+        // Check the fields
+        String puuid = summoner.getPuuid();
+        String summonerId = summoner.getSummonerId();
+        String accountId = summoner.getAccountId();
+        if (!isAscii(puuid, MAX_PUUID) || !isAscii(summonerId, MAX_SUMMONER_ID) || !isAscii(accountId, MAX_ACCOUNT_ID)) return false;
+        long fetched = lastFetched.toEpochMilli();
+        long hash = hash(puuid);
+
+        // Write the slot
+        int set = (int) hash & setMask;
+        synchronized (lock(set)) {
+            int slot = acquire(set, hash, puuid);
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            if (segment.getLong(base + SUMMONER_FETCHED) > fetched) return true;
+            segment.putLong(base + SUMMONER_FETCHED, fetched);
+            segment.putInt(base + PROFILE_ICON_ID, summoner.getProfileIconId());
+            segment.putInt(base + SUMMONER_LEVEL, summoner.getSummonerLevel());
+            putAscii(segment, base + SUMMONER_ID, summonerId);
+            putAscii(segment, base + ACCOUNT_ID, accountId);
+        }
+
+        return true;
+    }
+
+    /**
+     * Looks up a summoner by PUUID.
+     *
+     * @param puuid the PUUID of the summoner
+     * @return the stored summoner and its fetch time, or null if not stored
+     */
+    public Stored<Summoner> getSummoner(String puuid) {
+        if (puuid == null) return null;
+        long hash = hash(puuid);
+        int set = (int) hash & setMask;
+        synchronized (lock(set)) {
+            int slot = find(set, hash, puuid);
+            return slot < 0 ? null : readSummoner(slot, puuid, false);
+        }
+    }
+
+    /**
+     * Looks up a summoner by Riot ID, case-insensitively.
+     * The fetch time is the older one of the account and the summoner.
+     *
+     * @param gameName the game name
+     * @param tagLine  the tag line
+     * @return the stored summoner and its fetch time, or null if the account or the summoner is not stored
+     */
+    public Stored<Summoner> getSummoner(String gameName, String tagLine) {
+        if (gameName == null || tagLine == null) return null;
+        long riotIdHash = hash(gameName, tagLine);
+        int slot = resolve(riotIdHash);
+        if (slot < 0) return null;
+        synchronized (lock(slot / WAYS)) {
+            if (!matches(slot, riotIdHash, gameName, tagLine)) return null;
+            return readSummoner(slot, readAscii(segment(slot), offset(slot) + PUUID), true);
+        }
+    }
+
+    /**
+     * Looks up an account by Riot ID, case-insensitively.
+     *
+     * @param gameName the game name
+     * @param tagLine  the tag line
+     * @return the stored account and its fetch time, or null if not stored
+     */
+    public Stored<Account> getAccount(String gameName, String tagLine) {
+        if (gameName == null || tagLine == null) return null;
+        long riotIdHash = hash(gameName, tagLine);
+        int slot = resolve(riotIdHash);
+        if (slot < 0) return null;
+        synchronized (lock(slot / WAYS)) {
+            if (!matches(slot, riotIdHash, gameName, tagLine)) return null;
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            touch(segment, base);
+            Account account = new Account(readAscii(segment, base + PUUID), readUtf8(segment, base + GAME_NAME), readUtf8(segment, base + TAG_LINE));
+            return new Stored<>(account, Instant.ofEpochMilli(segment.getLong(base + ACCOUNT_FETCHED)));
+        }
+    }
+
+    /**
+     * Removes a player.
+     *
+     * @param puuid the PUUID of the player
+     */
+    public void invalidate(String puuid) {
+        if (puuid == null) return;
+        long hash = hash(puuid);
+        int set = (int) hash & setMask;
+        synchronized (lock(set)) {
+            int slot = find(set, hash, puuid);
+            if (slot < 0) return;
+            segment(slot).putLong(offset(slot) + HASH, 0);
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all players.
+     */
+    public void clear() {
+        for (int set = 0; set <= setMask; set++) synchronized (lock(set)) {
+            for (int slot = set * WAYS; slot < (set + 1) * WAYS; slot++) {
+                ByteBuffer segment = segment(slot);
+                int base = offset(slot);
+                if (segment.getLong(base + HASH) == 0) continue;
+                segment.putLong(base + HASH, 0);
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stored players.
+     *
+     * @return the number of stored players
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the maximum number of players.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the direct memory held by the store.
+     *
+     * @return the memory in bytes
+     */
+    public long getMemoryUsage() {
+        return (long) capacity * (SLOT_SIZE + INDEX_ENTRY_SIZE);
+    }
+
+    /**
+     * Finds the slot of a PUUID. Must be called while holding the lock of the set.
+     *
+     * @param set   the set of the PUUID
+     * @param hash  the hash of the PUUID
+     * @param puuid the PUUID
+     * @return the slot, or -1 if not stored
+     */
+    private int find(int set, long hash, String puuid) {
+        for (int slot = set * WAYS; slot < (set + 1) * WAYS; slot++) {
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            if (segment.getLong(base + HASH) == hash && equalsAscii(segment, base + PUUID, puuid)) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot of a PUUID or claims one for it, evicting the least recently used slot of a full set.
+     * A claimed slot holds neither account nor summoner. Must be called while holding the lock of the set.
+     *
+     * @param set   the set of the PUUID
+     * @param hash  the hash of the PUUID
+     * @param puuid the PUUID
+     * @return the slot
+     */
+    private int acquire(int set, long hash, String puuid) {
+
+        // Reuse the slot of the PUUID
+        int slot = find(set, hash, puuid);
+        if (slot >= 0) return slot;
+
+        // Pick an empty or the least recently used slot
+        int victim = -1;
+        int oldest = 0;
+        for (int candidate = set * WAYS; candidate < (set + 1) * WAYS; candidate++) {
+            ByteBuffer segment = segment(candidate);
+            int base = offset(candidate);
+            if (segment.getLong(base + HASH) == 0) {
+                victim = candidate;
+                size.incrementAndGet();
+                break;
+            }
+            int accessed = segment.getInt(base + ACCESSED);
+            if (victim < 0 || accessed - oldest < 0) {
+                victim = candidate;
+                oldest = accessed;
+            }
+        }
+
+        // Reset the slot
+        ByteBuffer segment = segment(victim);
+        int base = offset(victim);
+        segment.putLong(base + HASH, hash);
+        segment.putLong(base + RIOT_ID_HASH, 0);
+        segment.putLong(base + ACCOUNT_FETCHED, ABSENT);
+        segment.putLong(base + SUMMONER_FETCHED, ABSENT);
+        putAscii(segment, base + PUUID, puuid);
+        touch(segment, base);
+        return victim;
+    }
+
+    /**
+     * Points a Riot ID at a slot. Every index set holds {@value #WAYS} entries of a slot and a fingerprint of the Riot ID;
+     * an entry with the same fingerprint is replaced, otherwise an empty one or the one chosen by the fingerprint.
+     *
+     * @param riotIdHash the hash of the Riot ID
+     * @param slot       the slot
+     */
+    private void link(long riotIdHash, int slot) {
+        int set = (int) riotIdHash & setMask;
+        int fingerprint = (int) (riotIdHash >>> 32);
+        synchronized (lock(set)) {
+            int target = set * WAYS + (fingerprint & (WAYS - 1));
+            for (int entry = set * WAYS; entry < (set + 1) * WAYS; entry++) {
+                int position = entry * INDEX_ENTRY_SIZE;
+                if (index.getInt(position) == 0) target = entry;
+                else if (index.getInt(position + 4) == fingerprint) {
+                    target = entry;
+                    break;
+                }
+            }
+            index.putInt(target * INDEX_ENTRY_SIZE, slot + 1);
+            index.putInt(target * INDEX_ENTRY_SIZE + 4, fingerprint);
+        }
+    }
+
+    /**
+     * Resolves a Riot ID to the slot it was last linked to. The slot must still be verified.
+     *
+     * @param riotIdHash the hash of the Riot ID
+     * @return the slot, or -1 if the Riot ID is not linked
+     */
+    private int resolve(long riotIdHash) {
+        int set = (int) riotIdHash & setMask;
+        int fingerprint = (int) (riotIdHash >>> 32);
+        synchronized (lock(set)) {
+            for (int entry = set * WAYS; entry < (set + 1) * WAYS; entry++) {
+                int position = entry * INDEX_ENTRY_SIZE;
+                int slot = index.getInt(position);
+                if (slot != 0 && index.getInt(position + 4) == fingerprint) return slot - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a slot holds the account of a Riot ID. Must be called while holding the lock of the set of the slot.
+     *
+     * @param slot       the slot
+     * @param riotIdHash the hash of the Riot ID
+     * @param gameName   the game name
+     * @param tagLine    the tag line
+     * @return true if the slot holds the account of the Riot ID, otherwise false
+     */
+    private boolean matches(int slot, long riotIdHash, String gameName, String tagLine) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        return segment.getLong(base + HASH) != 0
+                && segment.getLong(base + ACCOUNT_FETCHED) != ABSENT
+                && segment.getLong(base + RIOT_ID_HASH) == riotIdHash
+                && readUtf8(segment, base + GAME_NAME).equalsIgnoreCase(gameName)
+                && readUtf8(segment, base + TAG_LINE).equalsIgnoreCase(tagLine);
+    }
+
+    /**
+     * Reads the summoner of a slot. Must be called while holding the lock of the set of the slot.
+     *
+     * @param slot        the slot
+     * @param puuid       the PUUID of the slot
+     * @param withAccount whether the fetch time of the account counts as well
+     * @return the stored summoner, or null if the slot holds no summoner
+     */
+    private Stored<Summoner> readSummoner(int slot, String puuid, boolean withAccount) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        long fetched = segment.getLong(base + SUMMONER_FETCHED);
+        if (fetched == ABSENT) return null;
+        if (withAccount) fetched = Math.min(fetched, segment.getLong(base + ACCOUNT_FETCHED));
+        touch(segment, base);
+        Summoner summoner = new Summoner(
+                readAscii(segment, base + SUMMONER_ID),
+                readAscii(segment, base + ACCOUNT_ID),
+                puuid,
+                segment.getInt(base + PROFILE_ICON_ID),
+                segment.getInt(base + SUMMONER_LEVEL)
+        );
+        return new Stored<>(summoner, Instant.ofEpochMilli(fetched));
+    }
+
+    /**
+     * Marks a slot as used now. The clock ticks about every millisecond and may wrap, ages are compared by difference.
+     *
+     * @param segment the segment of the slot
+     * @param base    the offset of the slot
+     */
+    private static void touch(ByteBuffer segment, int base) {
+        segment.putInt(base + ACCESSED, (int) (System.nanoTime() >>> 20));
+    }
+
+    /**
+     * Returns the lock of a set.
+     *
+     * @param set the set
+     * @return the lock
+     */
+    private Object lock(int set) {
+        return locks[set & (STRIPES - 1)];
+    }
+
+    /**
+     * Returns the segment holding a slot.
+     *
+     * @param slot the slot
+     * @return the segment
+     */
+    private ByteBuffer segment(int slot) {
+        return segments[slot / slotsPerSegment];
+    }
+
+    /**
+     * Returns the offset of a slot within its segment.
+     *
+     * @param slot the slot
+     * @return the offset in bytes
+     */
+    private int offset(int slot) {
+        return slot % slotsPerSegment * SLOT_SIZE;
+    }
+
+    /**
+     * Hashes a PUUID. The result is never 0, which marks an empty slot.
+     *
+     * @param puuid the PUUID
+     * @return the hash
+     */
+    private static long hash(String puuid) {
+        long hash = mix(puuid.hashCode() * 0x9E3779B97F4A7C15L + puuid.length());
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Hashes a normalized Riot ID without building the normalized string.
+     *
+     * @param gameName the game name
+     * @param tagLine  the tag line
+     * @return the hash
+     */
+    private static long hash(String gameName, String tagLine) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < gameName.length(); i++) hash = (hash ^ Character.toLowerCase(gameName.charAt(i))) * 0x100000001b3L;
+        hash = (hash ^ '#') * 0x100000001b3L;
+        for (int i = 0; i < tagLine.length(); i++) hash = (hash ^ Character.toLowerCase(tagLine.charAt(i))) * 0x100000001b3L;
+        return mix(hash);
+    }
+
+    /**
+     * Spreads the bits of a hash.
+     *
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+
+    /**
+     * Checks whether a string is ASCII and fits into a field.
+     *
+     * @param value     the string
+     * @param maxLength the size of the field
+     * @return true if the string can be stored, otherwise false
+     */
+    private static boolean isAscii(String value, int maxLength) {
+        if (value == null || value.length() > maxLength) return false;
+        for (int i = 0; i < value.length(); i++) if (value.charAt(i) > 0x7F) return false;
+        return true;
+    }
+
+    /**
+     * Compares an ASCII field with a string without decoding the field.
+     *
+     * @param segment the segment
+     * @param offset  the offset of the field
+     * @param value   the string
+     * @return true if equal, otherwise false
+     */
+    private static boolean equalsAscii(ByteBuffer segment, int offset, String value) {
+        int length = segment.get(offset);
+        if (length != value.length()) return false;
+        for (int i = 0; i < length; i++) if (segment.get(offset + 1 + i) != value.charAt(i)) return false;
+        return true;
+    }
+
+    /**
+     * Writes an ASCII field.
+     *
+     * @param segment the segment
+     * @param offset  the offset of the field
+     * @param value   the ASCII string
+     */
+    private static void putAscii(ByteBuffer segment, int offset, String value) {
+        segment.put(offset, (byte) value.length());
+        for (int i = 0; i < value.length(); i++) segment.put(offset + 1 + i, (byte) value.charAt(i));
+    }
+
+    /**
+     * Writes an encoded field.
+     *
+     * @param segment the segment
+     * @param offset  the offset of the field
+     * @param value   the encoded bytes
+     */
+    private static void putBytes(ByteBuffer segment, int offset, byte[] value) {
+        segment.put(offset, (byte) value.length);
+        segment.put(offset + 1, value);
+    }
+
+    /**
+     * Reads an ASCII field.
+     *
+     * @param segment the segment
+     * @param offset  the offset of the field
+     * @return the string
+     */
+    private static String readAscii(ByteBuffer segment, int offset) {
+        byte[] bytes = new byte[segment.get(offset)];
+        segment.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads a UTF-8 field.
+     *
+     * @param segment the segment
+     * @param offset  the offset of the field
+     * @return the string
+     */
+    private static String readUtf8(ByteBuffer segment, int offset) {
+        byte[] bytes = new byte[segment.get(offset)];
+        segment.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
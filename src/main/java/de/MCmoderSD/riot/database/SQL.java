@@ -2,18 +2,61 @@ package de.MCmoderSD.riot.database;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import de.MCmoderSD.sql.Driver;
+import de.MCmoderSD.riot.metrics.Metrics;
 import de.MCmoderSD.riot.objects.Account;
+import de.MCmoderSD.riot.objects.Entry;
+import de.MCmoderSD.riot.objects.LeagueSnapshot;
+import de.MCmoderSD.riot.objects.RiotId;
 import de.MCmoderSD.riot.objects.Summoner;
 
+import java.security.InvalidParameterException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * This class handles the SQL database operations for the Riot API.
+ * The schema is created over the connection of this driver, all queries run on pooled connections,
+ * so a single instance can be shared between threads.
  */
 @SuppressWarnings("unused")
 public class SQL extends Driver {
 
+    // Constants
+    private static final int BATCH_SIZE = 500;
+    private static final int[] IN_LIST_SIZES = {1, 10, 100, BATCH_SIZE};
+    private static final String UPSERT_ACCOUNT = "INSERT INTO RiotAccounts (puuid, gameName, tagLine, lastFetched) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE gameName = VALUES(gameName), tagLine = VALUES(tagLine), lastFetched = VALUES(lastFetched)";
+    private static final String UPSERT_ENTRY = "INSERT INTO LeagueEntries (summonerId, queueType, leagueId, tier, division, leaguePoints, wins, losses, veteran, inactive, freshBlood, hotStreak, updatedAt) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE leagueId = VALUES(leagueId), tier = VALUES(tier), division = VALUES(division), " +
+            "leaguePoints = VALUES(leaguePoints), wins = VALUES(wins), losses = VALUES(losses), veteran = VALUES(veteran), inactive = VALUES(inactive), " +
+            "freshBlood = VALUES(freshBlood), hotStreak = VALUES(hotStreak), updatedAt = VALUES(updatedAt)";
+    private static final String INSERT_HISTORY = "INSERT IGNORE INTO LeagueHistory (summonerId, queueType, recordedAt, tier, division, leaguePoints, wins, losses) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_SUMMONER = "INSERT INTO Summoners (summonerId, accountId, puuid, profileIconId, summonerLevel, lastFetched) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE accountId = VALUES(accountId), puuid = VALUES(puuid), profileIconId = VALUES(profileIconId), " +
+            "summonerLevel = VALUES(summonerLevel), lastFetched = VALUES(lastFetched)";
+    private static final String LAST_FETCHED_COLUMN = "lastFetched TIMESTAMP(3) NOT NULL DEFAULT '2000-01-01 00:00:00'";
+    private static final String BACKFILL_LAST_FETCHED = "UPDATE %s SET lastFetched = CURRENT_TIMESTAMP(3) - INTERVAL ? SECOND WHERE lastFetched = '2000-01-01 00:00:00'";
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(10);
+
+    // Associations
+    private final ConnectionPool pool;
+    private volatile IdentityStore identityStore;
+    private volatile Metrics metrics = Metrics.NOOP;
+
     /**
      * Constructs a SQL object with the given JSON configuration.
      *
@@ -21,8 +64,23 @@ public class SQL extends Driver {
      * @param jsonNode the JSON configuration
      */
     public SQL(DatabaseType databaseType, JsonNode jsonNode) {
+        this(databaseType, jsonNode, DEFAULT_POOL_SIZE, DEFAULT_ACQUIRE_TIMEOUT);
+    }
+
+    /**
+     * Constructs a SQL object with the given JSON configuration and connection pool settings.
+     *
+     * @param databaseType   the database type
+     * @param jsonNode       the JSON configuration
+     * @param maxPoolSize    the maximum number of pooled connections
+     * @param acquireTimeout the maximum time to wait for a pooled connection
+     */
+    public SQL(DatabaseType databaseType, JsonNode jsonNode, int maxPoolSize, Duration acquireTimeout) {
         super(databaseType, jsonNode);
 
+        // Init Associations
+        pool = new ConnectionPool(() -> new Driver(databaseType, jsonNode) {}, maxPoolSize, acquireTimeout);
+
         // Init tables
         initTables();
     }
@@ -38,10 +96,47 @@ public class SQL extends Driver {
      * @param password the database password
      */
     public SQL(DatabaseType databaseType, String host, int port, String database, String username, String password) {
+        this(databaseType, host, port, database, username, password, DEFAULT_POOL_SIZE, DEFAULT_ACQUIRE_TIMEOUT);
+    }
+
+    /**
+     * Constructs a SQL object with the given database connection parameters and connection pool settings.
+     *
+     * @param databaseType   the database type
+     * @param host           the database host
+     * @param port           the database port
+     * @param database       the database name
+     * @param username       the database username
+     * @param password       the database password
+     * @param maxPoolSize    the maximum number of pooled connections
+     * @param acquireTimeout the maximum time to wait for a pooled connection
+     */
+    public SQL(DatabaseType databaseType, String host, int port, String database, String username, String password, int maxPoolSize, Duration acquireTimeout) {
+        this(databaseType, host, port, database, username, password, maxPoolSize, acquireTimeout, true);
+    }
+
+    /**
+     * Constructs a SQL object with the given database connection parameters and connection pool settings.
+     * Without creating the tables, no connection is opened until the first query.
+     *
+     * @param databaseType   the database type
+     * @param host           the database host
+     * @param port           the database port
+     * @param database       the database name
+     * @param username       the database username
+     * @param password       the database password
+     * @param maxPoolSize    the maximum number of pooled connections
+     * @param acquireTimeout the maximum time to wait for a pooled connection
+     * @param initTables     whether to connect and create the tables now
+     */
+    SQL(DatabaseType databaseType, String host, int port, String database, String username, String password, int maxPoolSize, Duration acquireTimeout, boolean initTables) {
         super(databaseType, host, port, database, username, password);
 
+        // Init Associations
+        pool = new ConnectionPool(() -> new Driver(databaseType, host, port, database, username, password) {}, maxPoolSize, acquireTimeout);
+
         // Init tables
-        initTables();
+        if (initTables) initTables();
     }
 
     /**
@@ -55,18 +150,20 @@ public class SQL extends Driver {
             String condition = "CREATE TABLE IF NOT EXISTS ";
 
             // SQL statement for creating the Accounts table
-            connection.prepareStatement(condition +
+            execute(condition +
                             """
                             RiotAccounts (
                             puuid VARCHAR(78) CHARACTER SET ascii PRIMARY KEY PRIMARY KEY,
                             gameName VARCHAR(16) NOT NULL,
-                            tagLine VARCHAR(5) NOT NULL
+                            tagLine VARCHAR(5) NOT NULL,
+                            lastFetched TIMESTAMP(3) NOT NULL DEFAULT '2000-01-01 00:00:00',
+                            INDEX idx_riot_id (gameName, tagLine)
                             ) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=1 CHARSET=utf8mb4
                             """
-            ).execute();
+            );
 
             // SQL statement for creating the Summoners table
-            connection.prepareStatement(condition +
+            execute(condition +
                             """
                             Summoners (
                             summonerId VARCHAR(63) PRIMARY KEY,
@@ -74,13 +171,132 @@ public class SQL extends Driver {
                             puuid VARCHAR(78) NOT NULL,
                             profileIconId INT NOT NULL,
                             summonerLevel INT NOT NULL,
+                            lastFetched TIMESTAMP(3) NOT NULL DEFAULT '2000-01-01 00:00:00',
+                            INDEX idx_summoner_puuid (puuid),
                             FOREIGN KEY (puuid) REFERENCES RiotAccounts(puuid)
                             ) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=1 CHARSET=ascii
                             """
-            ).execute();
+            );
+
+            // SQL statement for creating the LeagueEntries table
+            execute(condition +
+                            """
+                            LeagueEntries (
+                            summonerId VARCHAR(63) NOT NULL,
+                            queueType VARCHAR(32) NOT NULL,
+                            leagueId VARCHAR(64),
+                            tier VARCHAR(16),
+                            division VARCHAR(4),
+                            leaguePoints INT NOT NULL,
+                            wins INT NOT NULL,
+                            losses INT NOT NULL,
+                            veteran BOOLEAN NOT NULL,
+                            inactive BOOLEAN NOT NULL,
+                            freshBlood BOOLEAN NOT NULL,
+                            hotStreak BOOLEAN NOT NULL,
+                            updatedAt TIMESTAMP(3) NOT NULL,
+                            PRIMARY KEY (summonerId, queueType)
+                            ) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=1 CHARSET=ascii
+                            """
+            );
+
+            // SQL statement for creating the append-only LeagueHistory table
+            execute(condition +
+                            """
+                            LeagueHistory (
+                            summonerId VARCHAR(63) NOT NULL,
+                            queueType VARCHAR(32) NOT NULL,
+                            recordedAt TIMESTAMP(3) NOT NULL,
+                            tier VARCHAR(16),
+                            division VARCHAR(4),
+                            leaguePoints SMALLINT UNSIGNED NOT NULL,
+                            wins SMALLINT UNSIGNED NOT NULL,
+                            losses SMALLINT UNSIGNED NOT NULL,
+                            PRIMARY KEY (summonerId, queueType, recordedAt)
+                            ) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=1 CHARSET=ascii
+                            """
+            );
+
+            // SQL statement for creating the CrawlProgress table
+            execute(condition +
+                            """
+                            CrawlProgress (
+                            crawlKey VARCHAR(96) PRIMARY KEY,
+                            page INT NOT NULL,
+                            updatedAt TIMESTAMP(3) NOT NULL
+                            ) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=1 CHARSET=ascii
+                            """
+            );
 
         } catch (SQLException e) {
             System.err.println(e.getMessage());
+            return;
+        }
+
+        // Migrate tables created before the Riot ID index existed,
+        // Summoners.puuid is already indexed there by its foreign key
+        try {
+            if (!hasIndex("RiotAccounts", "idx_riot_id")) execute("CREATE INDEX idx_riot_id ON RiotAccounts (gameName, tagLine)");
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+
+        // Migrate tables created before rows carried their fetch time,
+        // existing rows are backdated to the default stale threshold so they are still served but refreshed in the background
+        for (String table : new String[] {"RiotAccounts", "Summoners"}) {
+            try {
+                if (hasColumn(table, "lastFetched")) continue;
+                execute("ALTER TABLE " + table + " ADD COLUMN " + LAST_FETCHED_COLUMN);
+                try (PreparedStatement preparedStatement = connection.prepareStatement(BACKFILL_LAST_FETCHED.formatted(table))) {
+                    preparedStatement.setLong(1, FreshnessPolicy.DEFAULT.getStaleAfter().toSeconds());
+                    preparedStatement.executeUpdate();
+                }
+            } catch (SQLException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks whether a table of the current database has an index.
+     * Uses the database metadata, since MySQL does not support {@code CREATE INDEX IF NOT EXISTS}.
+     *
+     * @param table the table name
+     * @param index the index name
+     * @return true if the index exists, otherwise false
+     * @throws SQLException if reading the metadata fails
+     */
+    private boolean hasIndex(String table, String index) throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (resultSet.next()) if (index.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) return true;
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a table of the current database has a column.
+     * Uses the database metadata, since MySQL does not support {@code ADD COLUMN IF NOT EXISTS}.
+     *
+     * @param table  the table name
+     * @param column the column name
+     * @return true if the column exists, otherwise false
+     * @throws SQLException if reading the metadata fails
+     */
+    private boolean hasColumn(String table, String column) throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return resultSet.next();
+        }
+    }
+
+    /**
+     * Executes a schema statement over the connection of this driver.
+     *
+     * @param sql the SQL statement
+     * @throws SQLException if the statement fails
+     */
+    private void execute(String sql) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.execute();
         }
     }
 
@@ -95,35 +311,60 @@ public class SQL extends Driver {
 
     /**
      * Adds an account to the database with the given parameters.
+     * An existing account with the same PUUID is updated in the same statement.
      *
      * @param puuid    the PUUID of the account
      * @param gameName the game name of the account
      * @param tagLine  the tag line of the account
      */
     public void addAccount(String puuid, String gameName, String tagLine) {
-        try {
-            if (!isConnected()) connect();
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("addAccount")) {
 
-            // Check if the account exists
-            if (getAccount(gameName, tagLine) != null) return;
-
-            // SQL statement for inserting a new account
-            PreparedStatement preparedStatement = getConnection().prepareStatement(
-                    "INSERT INTO RiotAccounts (puuid, gameName, tagLine) VALUES (?, ?, ?)"
-            );
+            // SQL statement for inserting or updating the account
+            PreparedStatement preparedStatement = pooled.prepare(UPSERT_ACCOUNT);
 
             // Set parameters
             preparedStatement.setString(1, puuid);
             preparedStatement.setString(2, gameName);
             preparedStatement.setString(3, tagLine);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            preparedStatement.setTimestamp(4, now);
             preparedStatement.execute();
-            preparedStatement.close();
+
+            // Write through
+            IdentityStore store = identityStore;
+            if (store != null) store.put(new Account(puuid, gameName, tagLine), now.toInstant());
 
         } catch (SQLException e) {
             System.err.println(e.getMessage());
         }
     }
 
+    /**
+     * Adds multiple accounts to the database using JDBC batching.
+     * Existing accounts are updated, all rows are written in one transaction.
+     *
+     * @param accounts the accounts to add
+     */
+    public void addAccounts(Collection<Account> accounts) {
+        if (accounts == null || accounts.isEmpty()) return;
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("addAccounts")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            executeBatch(pooled, UPSERT_ACCOUNT, accounts, (preparedStatement, account) -> {
+                preparedStatement.setString(1, account.getPUUID());
+                preparedStatement.setString(2, account.getGameName());
+                preparedStatement.setString(3, account.getTagLine());
+                preparedStatement.setTimestamp(4, now);
+            });
+
+            // Write through
+            IdentityStore store = identityStore;
+            if (store != null) for (Account account : accounts) store.put(account, now.toInstant());
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
     /**
      * Adds a summoner to the database.
      *
@@ -135,6 +376,7 @@ public class SQL extends Driver {
 
     /**
      * Adds a summoner to the database with the given parameters.
+     * An existing summoner with the same ID is updated in the same statement.
      *
      * @param summonerId    the summoner ID
      * @param accountId     the account ID
@@ -143,16 +385,10 @@ public class SQL extends Driver {
      * @param summonerLevel the summoner level
      */
     public void addSummoner(String summonerId, String accountId, String puuid, int profileIconId, int summonerLevel) {
-        try {
-            if (!isConnected()) connect();
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("addSummoner")) {
 
-            // Check if the account exists
-            if (getSummoner(puuid) != null) return;
-
-            // SQL statement for inserting a new summoner
-            PreparedStatement preparedStatement = getConnection().prepareStatement(
-                    "INSERT INTO Summoners (summonerId, accountId, puuid, profileIconId, summonerLevel) VALUES (?, ?, ?, ?, ?)"
-            );
+            // SQL statement for inserting or updating the summoner
+            PreparedStatement preparedStatement = pooled.prepare(UPSERT_SUMMONER);
 
             // Set parameters
             preparedStatement.setString(1, summonerId);
@@ -160,8 +396,13 @@ public class SQL extends Driver {
             preparedStatement.setString(3, puuid);
             preparedStatement.setInt(4, profileIconId);
             preparedStatement.setInt(5, summonerLevel);
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            preparedStatement.setTimestamp(6, now);
             preparedStatement.execute();
-            preparedStatement.close();
+
+            // Write through
+            IdentityStore store = identityStore;
+            if (store != null) store.put(new Summoner(summonerId, accountId, puuid, profileIconId, summonerLevel), now.toInstant());
 
         } catch (SQLException e) {
             System.err.println(e.getMessage());
@@ -169,39 +410,240 @@ public class SQL extends Driver {
     }
 
     /**
-     * Retrieves a summoner from the database by PUUID.
+     * Adds multiple summoners to the database using JDBC batching.
+     * Existing summoners are updated, all rows are written in one transaction.
+     * The accounts of the summoners must already be stored.
      *
-     * @param puuid the PUUID of the summoner
-     * @return the Summoner object, or null if not found
+     * @param summoners the summoners to add
      */
-    public Summoner getSummoner(String puuid) {
-        try {
-            if (!isConnected()) connect();
+    public void addSummoners(Collection<Summoner> summoners) {
+        if (summoners == null || summoners.isEmpty()) return;
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("addSummoners")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            executeBatch(pooled, UPSERT_SUMMONER, summoners, (preparedStatement, summoner) -> {
+                preparedStatement.setString(1, summoner.getSummonerId());
+                preparedStatement.setString(2, summoner.getAccountId());
+                preparedStatement.setString(3, summoner.getPuuid());
+                preparedStatement.setInt(4, summoner.getProfileIconId());
+                preparedStatement.setInt(5, summoner.getSummonerLevel());
+                preparedStatement.setTimestamp(6, now);
+            });
+
+            // Write through
+            IdentityStore store = identityStore;
+            if (store != null) for (Summoner summoner : summoners) store.put(summoner, now.toInstant());
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Adds league entries to the database.
+     * The current state of every entry is upserted into LeagueEntries, a row is appended to LeagueHistory
+     * only if the tier, rank, league points, wins or losses changed since the stored state.
+     * Entries without summoner ID or queue type are ignored.
+     *
+     * @param entries the entries to add
+     */
+    public void addEntries(Collection<Entry> entries) {
+        if (entries == null || entries.isEmpty()) return;
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("addEntries")) {
+
+            // Filter storable entries
+            ArrayList<Entry> storable = new ArrayList<>();
+            for (Entry entry : entries) if (entry.getSummonerId() != null && entry.getQueueType() != null) storable.add(entry);
+            if (storable.isEmpty()) return;
+
+            // Start the transaction
+            PreparedStatement history = pooled.prepare(INSERT_HISTORY);
+            PreparedStatement upsert = pooled.prepare(UPSERT_ENTRY);
+            Connection connection = pooled.getConnection();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+
+                // Lock and load the stored states
+                HashMap<String, Entry> current = getStoredEntries(pooled, storable);
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+
+                for (Entry entry : storable) {
+
+                    // Append history on change
+                    String key = entry.getSummonerId() + ":" + entry.getQueueType();
+                    if (hasChanged(current.get(key), entry)) {
+                        history.setString(1, entry.getSummonerId());
+                        history.setString(2, entry.getQueueType());
+                        history.setTimestamp(3, now);
+                        history.setString(4, entry.getTier());
+                        history.setString(5, entry.getRank());
+                        history.setInt(6, entry.getLeaguePoints());
+                        history.setInt(7, entry.getWins());
+                        history.setInt(8, entry.getLosses());
+                        history.addBatch();
+                    }
+                    current.put(key, entry);
+
+                    // Upsert the current state
+                    upsert.setString(1, entry.getSummonerId());
+                    upsert.setString(2, entry.getQueueType());
+                    upsert.setString(3, entry.getLeagueId());
+                    upsert.setString(4, entry.getTier());
+                    upsert.setString(5, entry.getRank());
+                    upsert.setInt(6, entry.getLeaguePoints());
+                    upsert.setInt(7, entry.getWins());
+                    upsert.setInt(8, entry.getLosses());
+                    upsert.setBoolean(9, entry.isVeteran());
+                    upsert.setBoolean(10, entry.isInactive());
+                    upsert.setBoolean(11, entry.isFreshBlood());
+                    upsert.setBoolean(12, entry.isHotStreak());
+                    upsert.setTimestamp(13, now);
+                    upsert.addBatch();
+                }
+
+                // Write and commit
+                history.executeBatch();
+                upsert.executeBatch();
+                connection.commit();
+
+            } catch (SQLException e) {
+                pooled.invalidate();
+                history.clearBatch();
+                upsert.clearBatch();
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the stored league entries of a summoner.
+     *
+     * @param summonerId the summoner ID
+     * @return the stored entries, empty if none are stored
+     */
+    public List<Entry> getEntries(String summonerId) {
+        ArrayList<Entry> entries = new ArrayList<>();
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getEntries")) {
 
             // Prepare statement
-            PreparedStatement preparedStatement = getConnection().prepareStatement(
-                    "SELECT * FROM Summoners WHERE puuid = ?"
+            PreparedStatement preparedStatement = pooled.prepare(
+                    "SELECT summonerId, queueType, leagueId, tier, division, leaguePoints, wins, losses, veteran, inactive, freshBlood, hotStreak " +
+                    "FROM LeagueEntries WHERE summonerId = ?"
             );
 
             // Set parameters
-            preparedStatement.setString(1, puuid);
-            var resultSet = preparedStatement.executeQuery();
+            preparedStatement.setString(1, summonerId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) entries.add(readEntry(resultSet));
+            }
 
-            if (resultSet.next()) {
-                return new Summoner(
-                        resultSet.getString("summonerId"),
-                        resultSet.getString("accountId"),
-                        resultSet.getString("puuid"),
-                        resultSet.getInt("profileIconId"),
-                        resultSet.getInt("summonerLevel")
-                );
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+
+        return entries;
+    }
+
+    /**
+     * Retrieves the most recent league history of a summoner in a queue.
+     *
+     * @param summonerId the summoner ID
+     * @param queueType  the queue type
+     * @param limit      the maximum number of snapshots
+     * @return the snapshots in chronological order, empty if none are stored
+     * @throws InvalidParameterException if the limit is not positive
+     */
+    public List<LeagueSnapshot> getLeagueHistory(String summonerId, String queueType, int limit) {
+        if (limit <= 0) throw new InvalidParameterException("Limit must be positive");
+        ArrayList<LeagueSnapshot> history = new ArrayList<>();
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getLeagueHistory")) {
+
+            // Prepare statement
+            PreparedStatement preparedStatement = pooled.prepare(
+                    "SELECT recordedAt, tier, division, leaguePoints, wins, losses FROM LeagueHistory " +
+                    "WHERE summonerId = ? AND queueType = ? ORDER BY recordedAt DESC LIMIT ?"
+            );
+
+            // Set parameters
+            preparedStatement.setString(1, summonerId);
+            preparedStatement.setString(2, queueType);
+            preparedStatement.setInt(3, limit);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) history.add(readSnapshot(resultSet));
             }
 
         } catch (SQLException e) {
             System.err.println(e.getMessage());
         }
 
-        return null;
+        Collections.reverse(history);
+        return history;
+    }
+
+    /**
+     * Retrieves the league history of a summoner in a queue since the given time.
+     *
+     * @param summonerId the summoner ID
+     * @param queueType  the queue type
+     * @param since      the earliest time to include
+     * @return the snapshots in chronological order, empty if none are stored
+     */
+    public List<LeagueSnapshot> getLeagueHistory(String summonerId, String queueType, Instant since) {
+        ArrayList<LeagueSnapshot> history = new ArrayList<>();
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getLeagueHistory")) {
+
+            // Prepare statement
+            PreparedStatement preparedStatement = pooled.prepare(
+                    "SELECT recordedAt, tier, division, leaguePoints, wins, losses FROM LeagueHistory " +
+                    "WHERE summonerId = ? AND queueType = ? AND recordedAt >= ? ORDER BY recordedAt"
+            );
+
+            // Set parameters
+            preparedStatement.setString(1, summonerId);
+            preparedStatement.setString(2, queueType);
+            preparedStatement.setTimestamp(3, Timestamp.from(since));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) history.add(readSnapshot(resultSet));
+            }
+
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+
+        return history;
+    }
+
+    /**
+     * Retrieves a summoner from the database by PUUID.
+     *
+     * @param puuid the PUUID of the summoner
+     * @return the Summoner object, or null if not found
+     */
+    public Summoner getSummoner(String puuid) {
+
+        // Check the identity store
+        IdentityStore store = identityStore;
+        if (store != null) {
+            Stored<Summoner> cached = store.getSummoner(puuid);
+            metrics.recordCacheLookup(Metrics.IDENTITY_CACHE, cached != null);
+            if (cached != null) return cached.getValue();
+        }
+
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getSummoner")) {
+            Stored<Summoner> stored = getStoredSummoner(pooled, puuid);
+            if (stored == null) return null;
+            if (store != null) store.put(stored.getValue(), stored.getLastFetched());
+            return stored.getValue();
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -212,20 +654,49 @@ public class SQL extends Driver {
      * @return the Summoner object, or null if not found
      */
     public Summoner getSummoner(String gameName, String tagLine) {
-        try {
-            if (!isConnected()) connect();
+        Stored<Summoner> stored = getStoredSummoner(gameName, tagLine);
+        return stored == null ? null : stored.getValue();
+    }
+
+    /**
+     * Retrieves a summoner from the database by game name and tag line together with its fetch time.
+     * The fetch time is the older one of the account and the summoner row.
+     * If a renamed account still holds the Riot ID, the most recently fetched owner wins.
+     *
+     * @param gameName the game name of the summoner
+     * @param tagLine  the tag line of the summoner
+     * @return the stored Summoner object, or null if not found
+     */
+    public Stored<Summoner> getStoredSummoner(String gameName, String tagLine) {
+
+        // Check the identity store
+        IdentityStore store = identityStore;
+        if (store != null) {
+            Stored<Summoner> cached = store.getSummoner(gameName, tagLine);
+            metrics.recordCacheLookup(Metrics.IDENTITY_CACHE, cached != null);
+            if (cached != null) return cached;
+        }
+
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getStoredSummoner")) {
 
             // Prepare statement
-            PreparedStatement preparedStatement = getConnection().prepareStatement(
-                    "SELECT * FROM RiotAccounts WHERE gameName = ? AND tagLine = ?"
+            PreparedStatement preparedStatement = pooled.prepare(
+                    "SELECT a.gameName, a.tagLine, a.lastFetched AS accountFetched, s.summonerId, s.accountId, s.puuid, s.profileIconId, s.summonerLevel, " +
+                    "s.lastFetched AS summonerFetched, LEAST(a.lastFetched, s.lastFetched) AS lastFetched " +
+                    "FROM RiotAccounts a JOIN Summoners s ON s.puuid = a.puuid " +
+                    "WHERE a.gameName = ? AND a.tagLine = ? ORDER BY a.lastFetched DESC LIMIT 1"
             );
 
             // Set parameters
             preparedStatement.setString(1, gameName);
             preparedStatement.setString(2, tagLine);
-            var resultSet = preparedStatement.executeQuery();
-
-            if (resultSet.next()) return getSummoner(resultSet.getString("puuid"));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    Summoner summoner = readSummoner(resultSet);
+                    if (store != null) fill(store, resultSet, summoner);
+                    return new Stored<>(summoner, readLastFetched(resultSet));
+                }
+            }
 
         } catch (SQLException e) {
             System.err.println(e.getMessage());
@@ -234,6 +705,92 @@ public class SQL extends Driver {
         return null;
     }
 
+    /**
+     * Retrieves the summoners of multiple Riot IDs from the database.
+     * The lookups are grouped into as few queries as possible.
+     *
+     * @param riotIds the Riot IDs to look up
+     * @return a map of the found summoners, Riot IDs that are not in the database are absent
+     */
+    public Map<RiotId, Summoner> getSummoners(Collection<RiotId> riotIds) {
+        HashMap<RiotId, Summoner> summoners = new HashMap<>();
+        for (Map.Entry<RiotId, Stored<Summoner>> entry : getStoredSummoners(riotIds).entrySet()) summoners.put(entry.getKey(), entry.getValue().getValue());
+        return summoners;
+    }
+
+    /**
+     * Retrieves the summoners of multiple Riot IDs from the database together with their fetch times.
+     * Riot IDs held by the identity store are served from it, the remaining lookups are grouped into as few queries as possible.
+     *
+     * @param riotIds the Riot IDs to look up
+     * @return a map of the found summoners, Riot IDs that are not in the database are absent
+     */
+    public Map<RiotId, Stored<Summoner>> getStoredSummoners(Collection<RiotId> riotIds) {
+
+        // Result
+        HashMap<RiotId, Stored<Summoner>> summoners = new HashMap<>();
+        HashMap<RiotId, Instant> owners = new HashMap<>();
+        if (riotIds == null || riotIds.isEmpty()) return summoners;
+
+        // Check the identity store
+        IdentityStore store = identityStore;
+        ArrayList<RiotId> ids = new ArrayList<>(new LinkedHashSet<>(riotIds));
+        if (store != null) {
+            ids.removeIf(riotId -> {
+                Stored<Summoner> cached = store.getSummoner(riotId.getGameName(), riotId.getTagLine());
+                metrics.recordCacheLookup(Metrics.IDENTITY_CACHE, cached != null);
+                if (cached != null) summoners.put(riotId, cached);
+                return cached != null;
+            });
+            if (ids.isEmpty()) return summoners;
+        }
+
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getStoredSummoners")) {
+
+            // Split into chunks to stay below the placeholder limit
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<RiotId> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+
+                // Prepare statement
+                int size = getInListSize(chunk.size());
+                String placeholders = String.join(", ", Collections.nCopies(size, "(?, ?)"));
+                PreparedStatement preparedStatement = pooled.prepare(
+                        "SELECT a.gameName, a.tagLine, a.lastFetched AS accountFetched, s.summonerId, s.accountId, s.puuid, s.profileIconId, s.summonerLevel, " +
+                        "s.lastFetched AS summonerFetched, LEAST(a.lastFetched, s.lastFetched) AS lastFetched " +
+                        "FROM RiotAccounts a JOIN Summoners s ON s.puuid = a.puuid " +
+                        "WHERE (a.gameName, a.tagLine) IN (" + placeholders + ")"
+                );
+
+                // Set parameters, the padding repeats the last Riot ID
+                int index = 1;
+                for (int i = 0; i < size; i++) {
+                    RiotId riotId = chunk.get(Math.min(i, chunk.size() - 1));
+                    preparedStatement.setString(index++, riotId.getGameName());
+                    preparedStatement.setString(index++, riotId.getTagLine());
+                }
+
+                // Collect results, the most recently fetched owner of a Riot ID wins
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        RiotId riotId = new RiotId(resultSet.getString("gameName"), resultSet.getString("tagLine"));
+                        Instant owner = resultSet.getTimestamp("accountFetched").toInstant();
+                        Instant previous = owners.get(riotId);
+                        if (previous != null && !owner.isAfter(previous)) continue;
+                        owners.put(riotId, owner);
+                        Summoner summoner = readSummoner(resultSet);
+                        if (store != null) fill(store, resultSet, summoner);
+                        summoners.put(riotId, new Stored<>(summoner, readLastFetched(resultSet)));
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+
+        return summoners;
+    }
+
     /**
      * Retrieves an account from the database by game name and tag line.
      *
@@ -242,31 +799,404 @@ public class SQL extends Driver {
      * @return the Account object, or null if not found
      */
     public Account getAccount(String gameName, String tagLine) {
-        try {
-            if (!isConnected()) connect();
+        Stored<Account> stored = getStoredAccount(gameName, tagLine);
+        return stored == null ? null : stored.getValue();
+    }
+
+    /**
+     * Retrieves an account from the database by game name and tag line together with its fetch time.
+     * If a renamed account still holds the Riot ID, the most recently fetched owner wins.
+     *
+     * @param gameName the game name of the account
+     * @param tagLine  the tag line of the account
+     * @return the stored Account object, or null if not found
+     */
+    public Stored<Account> getStoredAccount(String gameName, String tagLine) {
+
+        // Check the identity store
+        IdentityStore store = identityStore;
+        if (store != null) {
+            Stored<Account> cached = store.getAccount(gameName, tagLine);
+            metrics.recordCacheLookup(Metrics.IDENTITY_CACHE, cached != null);
+            if (cached != null) return cached;
+        }
+
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getStoredAccount")) {
+            Stored<Account> stored = getStoredAccount(pooled, gameName, tagLine);
+            if (stored != null && store != null) store.put(stored.getValue(), stored.getLastFetched());
+            return stored;
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the last completed page of a crawl.
+     *
+     * @param crawlKey the key of the crawled ladder
+     * @return the last completed page, or 0 if the ladder was not crawled yet
+     */
+    public int getCrawlProgress(String crawlKey) {
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("getCrawlProgress")) {
 
             // Prepare statement
-            PreparedStatement preparedStatement = getConnection().prepareStatement(
-                    "SELECT * FROM RiotAccounts WHERE gameName = ? AND tagLine = ?"
+            PreparedStatement preparedStatement = pooled.prepare("SELECT page FROM CrawlProgress WHERE crawlKey = ?");
+
+            // Set parameters
+            preparedStatement.setString(1, crawlKey);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) return resultSet.getInt("page");
+            }
+
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Records the last completed page of a crawl.
+     *
+     * @param crawlKey the key of the crawled ladder
+     * @param page     the last completed page
+     */
+    public void setCrawlProgress(String crawlKey, int page) {
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("setCrawlProgress")) {
+
+            // SQL statement for inserting or updating the progress
+            PreparedStatement preparedStatement = pooled.prepare(
+                    "INSERT INTO CrawlProgress (crawlKey, page, updatedAt) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE page = VALUES(page), updatedAt = VALUES(updatedAt)"
             );
 
             // Set parameters
-            preparedStatement.setString(1, gameName);
-            preparedStatement.setString(2, tagLine);
-            var resultSet = preparedStatement.executeQuery();
+            preparedStatement.setString(1, crawlKey);
+            preparedStatement.setInt(2, page);
+            preparedStatement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            preparedStatement.execute();
+
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+    }
 
+    /**
+     * Removes the progress of all crawls, so the next crawl starts from the first page.
+     */
+    public void clearCrawlProgress() {
+        try (ConnectionPool.PooledConnection pooled = pool.acquire("clearCrawlProgress")) {
+            pooled.prepare("DELETE FROM CrawlProgress").execute();
+        } catch (SQLException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the metrics that receive the latency of every database method, including the wait for a pooled connection.
+     *
+     * @param metrics the metrics
+     * @throws IllegalArgumentException if the metrics are null
+     */
+    public void setMetrics(Metrics metrics) {
+        pool.setMetrics(metrics);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the identity store that serves accounts and summoners before the database is queried.
+     * Rows read from or written to the database are copied into the store.
+     *
+     * @param identityStore the identity store, or null to query the database only
+     */
+    public void setIdentityStore(IdentityStore identityStore) {
+        this.identityStore = identityStore;
+    }
+
+    /**
+     * Returns the identity store.
+     *
+     * @return the identity store, or null if none is set
+     */
+    public IdentityStore getIdentityStore() {
+        return identityStore;
+    }
+
+    /**
+     * Closes the connection pool. Connections in use are closed when they are returned.
+     */
+    public void closePool() {
+        pool.close();
+    }
+
+    /**
+     * Writes rows in batches of {@value #BATCH_SIZE} within a single transaction.
+     * The transaction is rolled back if any batch fails.
+     *
+     * @param pooled the connection to use
+     * @param sql    the SQL statement
+     * @param rows   the rows to write
+     * @param binder the binder setting the parameters of a row
+     * @param <T>    the row type
+     * @throws SQLException if a database error occurs
+     */
+    private static <T> void executeBatch(ConnectionPool.PooledConnection pooled, String sql, Collection<T> rows, Binder<T> binder) throws SQLException {
+
+        // Start the transaction
+        PreparedStatement preparedStatement = pooled.prepare(sql);
+        Connection connection = pooled.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+
+            // Add and execute the batches
+            int count = 0;
+            for (T row : rows) {
+                binder.bind(preparedStatement, row);
+                preparedStatement.addBatch();
+                if (++count % BATCH_SIZE == 0) preparedStatement.executeBatch();
+            }
+            if (count % BATCH_SIZE != 0) preparedStatement.executeBatch();
+
+            // Commit the transaction
+            connection.commit();
+
+        } catch (SQLException e) {
+            pooled.invalidate();
+            preparedStatement.clearBatch();
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Locks and loads the stored states of the given entries, grouped into as few queries as possible.
+     *
+     * @param pooled  the connection to use, must be inside a transaction
+     * @param entries the entries to look up
+     * @return the stored entries keyed by summoner ID and queue type
+     * @throws SQLException if a database error occurs
+     */
+    private static HashMap<String, Entry> getStoredEntries(ConnectionPool.PooledConnection pooled, List<Entry> entries) throws SQLException {
+        HashMap<String, Entry> stored = new HashMap<>();
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<Entry> chunk = entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()));
+
+            // Prepare statement
+            int size = getInListSize(chunk.size());
+            String placeholders = String.join(", ", Collections.nCopies(size, "(?, ?)"));
+            PreparedStatement preparedStatement = pooled.prepare(
+                    "SELECT summonerId, queueType, leagueId, tier, division, leaguePoints, wins, losses, veteran, inactive, freshBlood, hotStreak " +
+                    "FROM LeagueEntries WHERE (summonerId, queueType) IN (" + placeholders + ") FOR UPDATE"
+            );
+
+            // Set parameters, the padding repeats the last entry
+            int index = 1;
+            for (int i = 0; i < size; i++) {
+                Entry entry = chunk.get(Math.min(i, chunk.size() - 1));
+                preparedStatement.setString(index++, entry.getSummonerId());
+                preparedStatement.setString(index++, entry.getQueueType());
+            }
+
+            // Collect results
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    Entry entry = readEntry(resultSet);
+                    stored.put(entry.getSummonerId() + ":" + entry.getQueueType(), entry);
+                }
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Rounds the length of an IN list up to one of a few fixed sizes, so bulk lookups of any size
+     * share a handful of statements in the statement cache of a connection instead of evicting each other.
+     *
+     * @param size the number of values, at most {@value #BATCH_SIZE}
+     * @return the padded number of values
+     */
+    private static int getInListSize(int size) {
+        for (int inListSize : IN_LIST_SIZES) if (size <= inListSize) return inListSize;
+        return BATCH_SIZE;
+    }
+
+    /**
+     * Checks whether an entry differs from its stored state in the values tracked by the history.
+     *
+     * @param stored the stored entry, may be null
+     * @param entry  the new entry
+     * @return true if the history needs a new row, otherwise false
+     */
+    private static boolean hasChanged(Entry stored, Entry entry) {
+        return stored == null
+                || !Objects.equals(stored.getTier(), entry.getTier())
+                || !Objects.equals(stored.getRank(), entry.getRank())
+                || stored.getLeaguePoints() != entry.getLeaguePoints()
+                || stored.getWins() != entry.getWins()
+                || stored.getLosses() != entry.getLosses();
+    }
+
+    /**
+     * Reads an entry from the current row of a result set.
+     *
+     * @param resultSet the result set positioned on a LeagueEntries row
+     * @return the Entry object
+     * @throws SQLException if a column cannot be read
+     */
+    private static Entry readEntry(ResultSet resultSet) throws SQLException {
+        return new Entry(
+                resultSet.getString("leagueId"),
+                resultSet.getString("queueType"),
+                resultSet.getString("tier"),
+                resultSet.getString("division"),
+                resultSet.getString("summonerId"),
+                resultSet.getInt("leaguePoints"),
+                resultSet.getInt("wins"),
+                resultSet.getInt("losses"),
+                resultSet.getBoolean("veteran"),
+                resultSet.getBoolean("inactive"),
+                resultSet.getBoolean("freshBlood"),
+                resultSet.getBoolean("hotStreak")
+        );
+    }
+
+    /**
+     * Reads a history snapshot from the current row of a result set.
+     *
+     * @param resultSet the result set positioned on a LeagueHistory row
+     * @return the LeagueSnapshot object
+     * @throws SQLException if a column cannot be read
+     */
+    private static LeagueSnapshot readSnapshot(ResultSet resultSet) throws SQLException {
+        return new LeagueSnapshot(
+                resultSet.getTimestamp("recordedAt").toInstant(),
+                resultSet.getString("tier"),
+                resultSet.getString("division"),
+                resultSet.getInt("leaguePoints"),
+                resultSet.getInt("wins"),
+                resultSet.getInt("losses")
+        );
+    }
+
+    /**
+     * Retrieves a summoner and its fetch time by PUUID over the given connection.
+     *
+     * @param pooled the connection to use
+     * @param puuid  the PUUID of the summoner
+     * @return the stored Summoner object, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    private static Stored<Summoner> getStoredSummoner(ConnectionPool.PooledConnection pooled, String puuid) throws SQLException {
+
+        // Prepare statement
+        PreparedStatement preparedStatement = pooled.prepare(
+                "SELECT summonerId, accountId, puuid, profileIconId, summonerLevel, lastFetched FROM Summoners WHERE puuid = ?"
+        );
+
+        // Set parameters
+        preparedStatement.setString(1, puuid);
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            if (resultSet.next()) return new Stored<>(readSummoner(resultSet), readLastFetched(resultSet));
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads a summoner from the current row of a result set.
+     *
+     * @param resultSet the result set positioned on a summoner row
+     * @return the Summoner object
+     * @throws SQLException if a column cannot be read
+     */
+    private static Summoner readSummoner(ResultSet resultSet) throws SQLException {
+        return new Summoner(
+                resultSet.getString("summonerId"),
+                resultSet.getString("accountId"),
+                resultSet.getString("puuid"),
+                resultSet.getInt("profileIconId"),
+                resultSet.getInt("summonerLevel")
+        );
+    }
+
+    /**
+     * Retrieves an account and its fetch time by game name and tag line over the given connection.
+     *
+     * @param pooled   the connection to use
+     * @param gameName the game name of the account
+     * @param tagLine  the tag line of the account
+     * @return the stored Account object, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    private static Stored<Account> getStoredAccount(ConnectionPool.PooledConnection pooled, String gameName, String tagLine) throws SQLException {
+
+        // Prepare statement
+        PreparedStatement preparedStatement = pooled.prepare(
+                "SELECT puuid, gameName, tagLine, lastFetched FROM RiotAccounts WHERE gameName = ? AND tagLine = ? ORDER BY lastFetched DESC LIMIT 1"
+        );
+
+        // Set parameters
+        preparedStatement.setString(1, gameName);
+        preparedStatement.setString(2, tagLine);
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
             if (resultSet.next()) {
-                return new Account(
+                Account account = new Account(
                         resultSet.getString("puuid"),
                         resultSet.getString("gameName"),
                         resultSet.getString("tagLine")
                 );
+                return new Stored<>(account, readLastFetched(resultSet));
             }
-
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
         }
 
         return null;
     }
+
+    /**
+     * Copies the account and the summoner of a joined row into the identity store.
+     *
+     * @param store     the identity store
+     * @param resultSet the result set positioned on a row with account and summoner columns
+     * @param summoner  the summoner read from the row
+     * @throws SQLException if a column cannot be read
+     */
+    private static void fill(IdentityStore store, ResultSet resultSet, Summoner summoner) throws SQLException {
+        Account account = new Account(summoner.getPuuid(), resultSet.getString("gameName"), resultSet.getString("tagLine"));
+        store.put(account, resultSet.getTimestamp("accountFetched").toInstant());
+        store.put(summoner, resultSet.getTimestamp("summonerFetched").toInstant());
+    }
+
+    /**
+     * Reads the fetch time from the current row of a result set.
+     *
+     * @param resultSet the result set positioned on a row with a lastFetched column
+     * @return the time the row was last fetched
+     * @throws SQLException if the column cannot be read
+     */
+    private static Instant readLastFetched(ResultSet resultSet) throws SQLException {
+        return resultSet.getTimestamp("lastFetched").toInstant();
+    }
+
+    /**
+     * Sets the parameters of a row on a prepared statement.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    private interface Binder<T> {
+
+        /**
+         * Binds the row to the statement.
+         *
+         * @param preparedStatement the statement
+         * @param row               the row
+         * @throws SQLException if a parameter cannot be set
+         */
+        void bind(PreparedStatement preparedStatement, T row) throws SQLException;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package de.MCmoderSD.riot.database;
+
+import java.time.Instant;
+
+/**
+ * A value read from the database together with the time it was last fetched from the Riot Games API.
+ *
+ * @param <T> the type of the value
+ */
+@SuppressWarnings("unused")
+public class Stored<T> {
+
+    // Attributes
+    private final T value;
+    private final Instant lastFetched;
+
+    /**
+     * Constructs a Stored object.
+     *
+     * @param value       the stored value
+     * @param lastFetched the time the value was last fetched
+     */
+    public Stored(T value, Instant lastFetched) {
+        this.value = value;
+        this.lastFetched = lastFetched;
+    }
+
+    /**
+     * Returns the stored value.
+     *
+     * @return the stored value
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the time the value was last fetched from the Riot Games API.
+     *
+     * @return the time the value was last fetched
+     */
+    public Instant getLastFetched() {
+        return lastFetched;
+    }
+}
@@ -0,0 +1,225 @@
+package de.MCmoderSD.riot.database;
+
+import de.MCmoderSD.riot.objects.Account;
+import de.MCmoderSD.riot.objects.Entry;
+import de.MCmoderSD.riot.objects.Summoner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persists fetched accounts, summoners and league entries in the background.
+ * Objects are put onto a bounded queue and a writer thread drains it in batches.
+ * If the queue is full, the caller flushes the queue and writes the object itself, so no data is dropped
+ * and accounts are still written before the summoners referencing them.
+ * The writer thread and the shutdown hook are started by {@link #start()}, objects added before are written synchronously.
+ * Pending objects are flushed on {@link #close()} and by the shutdown hook.
+ */
+@SuppressWarnings("unused")
+public class WriteBehindQueue implements AutoCloseable {
+
+    // Constants
+    private static final int BATCH_SIZE = 500;
+    private static final long POLL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Associations
+    private final SQL sql;
+
+    // Attributes
+    private final ArrayBlockingQueue<Object> queue;
+    private final ReentrantLock writeLock;
+    private Thread writer;
+    private Thread shutdownHook;
+    private volatile boolean running;
+
+    /**
+     * Constructs a WriteBehindQueue, call {@link #start()} to start its writer thread.
+     *
+     * @param sql      the database handler to write to
+     * @param capacity the maximum number of pending objects
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public WriteBehindQueue(SQL sql, int capacity) {
+
+        // Check Parameters
+        if (sql == null) throw new IllegalArgumentException("SQL must not be null");
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+
+        // Init Associations
+        this.sql = sql;
+
+        // Init Attributes
+        queue = new ArrayBlockingQueue<>(capacity);
+        writeLock = new ReentrantLock();
+    }
+
+    /**
+     * Starts the writer thread and registers the shutdown hook that flushes pending objects.
+     * Calling it again has no effect.
+     */
+    public synchronized void start() {
+        if (writer != null) return;
+        running = true;
+
+        // Start the writer
+        writer = new Thread(this::run, "RiotAPI-WriteBehind");
+        writer.setDaemon(true);
+        writer.start();
+
+        // Flush on shutdown
+        shutdownHook = new Thread(this::flush, "RiotAPI-WriteBehind-Flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues an account for persistence.
+     *
+     * @param account the account to persist
+     */
+    public void add(Account account) {
+        if (enqueue(account)) return;
+        flush();
+        sql.addAccount(account);
+    }
+
+    /**
+     * Queues a summoner for persistence.
+     *
+     * @param summoner the summoner to persist
+     */
+    public void add(Summoner summoner) {
+        if (enqueue(summoner)) return;
+        flush();
+        sql.addSummoner(summoner);
+    }
+
+    /**
+     * Queues a league entry for persistence.
+     *
+     * @param entry the entry to persist
+     */
+    public void add(Entry entry) {
+        if (enqueue(entry)) return;
+        flush();
+        sql.addEntries(List.of(entry));
+    }
+
+    /**
+     * Puts an object onto the queue while the writer is running.
+     * If {@link #close()} stopped the writer and drained the queue between the check and the offer,
+     * nothing would drain the queue again, so the object is flushed right away.
+     *
+     * @param object the object to persist
+     * @return true if the object was queued or flushed, false if the caller has to write it
+     */
+    private boolean enqueue(Object object) {
+        if (!running || !queue.offer(object)) return false;
+        if (!running) flush();
+        return true;
+    }
+
+    /**
+     * Returns the number of pending objects.
+     *
+     * @return the number of pending objects
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Writes all pending objects to the database.
+     */
+    public void flush() {
+        ArrayList<Object> batch = new ArrayList<>();
+        writeLock.lock();
+        try {
+            while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the writer thread and flushes all pending objects.
+     */
+    @Override
+    public synchronized void close() {
+
+        // Stop the writer
+        running = false;
+        if (writer != null) try {
+            LockSupport.unpark(writer);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Flush the rest
+        flush();
+        if (shutdownHook != null) try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down, the hook flushes anyway
+        }
+    }
+
+    /**
+     * Drains the queue in batches until the queue is closed.
+     * The writer waits for objects without holding the write lock, so flushes never wait for an idle writer.
+     */
+    private void run() {
+        ArrayList<Object> batch = new ArrayList<>();
+        while (running) {
+
+            // Wait for the next objects, they stay queued so the order with concurrent flushes is kept
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, POLL_INTERVAL);
+                if (Thread.currentThread().isInterrupted()) return;
+                continue;
+            }
+
+            // Write the batch
+            writeLock.lock();
+            try {
+                queue.drainTo(batch, BATCH_SIZE);
+                write(batch);
+            } catch (RuntimeException e) {
+                System.err.println(e.getMessage());
+            } finally {
+                batch.clear();
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch, accounts first since summoners reference them.
+     *
+     * @param batch the objects to write
+     */
+    private void write(ArrayList<Object> batch) {
+
+        // Split the batch
+        ArrayList<Account> accounts = new ArrayList<>();
+        ArrayList<Summoner> summoners = new ArrayList<>();
+        ArrayList<Entry> entries = new ArrayList<>();
+        for (Object object : batch) {
+            if (object instanceof Account account) accounts.add(account);
+            else if (object instanceof Summoner summoner) summoners.add(summoner);
+            else if (object instanceof Entry entry) entries.add(entry);
+        }
+
+        // Write the batch
+        sql.addAccounts(accounts);
+        sql.addSummoners(summoners);
+        sql.addEntries(entries);
+    }
+}
@@ -1,5 +1,8 @@
 package de.MCmoderSD.riot.enums;
 
+import java.util.HashMap;
+import java.util.Locale;
+
 @SuppressWarnings("unused")
 public enum Cluster {
 
@@ -9,12 +12,26 @@ public enum Cluster {
     EUROPE("europe"),
     SEA("sea");
 
+    // Lookups
+    private static final Cluster[] VALUES = values();
+    private static final HashMap<String, Cluster> BY_CLUSTER = new HashMap<>();
+    private static final String[] NAMES = new String[VALUES.length];
+
+    static {
+        for (Cluster c : VALUES) {
+            BY_CLUSTER.put(c.cluster, c);
+            NAMES[c.ordinal()] = c.name();
+        }
+    }
+
     // Attributes
     private final String cluster;
+    private final String url;
 
     // Constructor
     Cluster(String cluster) {
         this.cluster = cluster;
+        this.url = "https://" + cluster + ".api.riotgames.com";
     }
 
     // Methods
@@ -23,17 +40,15 @@ public enum Cluster {
     }
 
     public String getUrl() {
-        return String.format("https://%s.api.riotgames.com", cluster);
+        return url;
     }
 
     public static Cluster getCluster(String cluster) {
         if (cluster == null || cluster.isBlank()) throw new IllegalArgumentException("Cluster cannot be null or empty.");
-        for (Cluster c : values()) if (c.getCluster().equalsIgnoreCase(cluster)) return c;
-        return null;
+        return BY_CLUSTER.get(cluster.toLowerCase(Locale.ROOT));
     }
 
     public static String[] getClusters() {
-        String clusters = "AMERICAS, ASIA, EUROPE, SEA";
-        return clusters.split(", ");
+        return NAMES.clone();
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package de.MCmoderSD.riot.enums;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+@SuppressWarnings("unused")
+public enum QueueType {
+
+    // Constants
+    RANKED_SOLO_5x5("RANKED_SOLO_5x5", "Ranked Solo/Duo"),
+    RANKED_FLEX_SR("RANKED_FLEX_SR", "Ranked Flex"),
+    CHERRY("CHERRY", "Arena"),
+    RANKED_TFT("RANKED_TFT", "Ranked Teamfight Tactics"),
+    RANKED_TFT_TURBO("RANKED_TFT_TURBO", "Hyper Roll"),
+    RANKED_TFT_DOUBLE_UP("RANKED_TFT_DOUBLE_UP", "Double Up");
+
+    // Lookups
+    private static final HashMap<String, QueueType> BY_IDENTIFIER = new HashMap<>();
+
+    static {
+        for (QueueType queueType : values()) {
+            BY_IDENTIFIER.put(queueType.identifier, queueType);
+            BY_IDENTIFIER.put(queueType.identifier.toUpperCase(Locale.ROOT), queueType);
+        }
+    }
+
+    // Attributes
+    private final String identifier;
+    private final String name;
+
+    // Constructor
+    QueueType(String identifier, String name) {
+        this.identifier = identifier;
+        this.name = name;
+    }
+
+    // Methods
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static QueueType getQueueType(String identifier) {
+        if (identifier == null) return null;
+        QueueType queueType = BY_IDENTIFIER.get(identifier);
+        return queueType != null ? queueType : BY_IDENTIFIER.get(identifier.toUpperCase(Locale.ROOT));
+    }
+}
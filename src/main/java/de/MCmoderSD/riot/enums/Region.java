@@ -1,5 +1,8 @@
 package de.MCmoderSD.riot.enums;
 
+import java.util.HashMap;
+import java.util.Locale;
+
 @SuppressWarnings("unused")
 public enum Region {
 
@@ -21,12 +24,26 @@ public enum Region {
     TW2("tw2"),
     VN2("vn2");
 
+    // Lookups
+    private static final Region[] VALUES = values();
+    private static final HashMap<String, Region> BY_REGION = new HashMap<>();
+    private static final String[] NAMES = new String[VALUES.length];
+
+    static {
+        for (Region r : VALUES) {
+            BY_REGION.put(r.region, r);
+            NAMES[r.ordinal()] = r.name();
+        }
+    }
+
     // Attributes
     private final String region;
+    private final String url;
 
     // Constructor
     Region(String region) {
         this.region = region;
+        this.url = "https://" + region + ".api.riotgames.com";
     }
 
     // Methods
@@ -35,17 +52,15 @@ public enum Region {
     }
 
     public String getUrl() {
-        return String.format("https://%s.api.riotgames.com", region);
+        return url;
     }
 
     public static Region getRegion(String region) {
         if (region == null || region.isBlank()) throw new IllegalArgumentException("Region cannot be null or empty.");
-        for (Region r : values()) if (r.getRegion().equalsIgnoreCase(region)) return r;
-        return null;
+        return BY_REGION.get(region.toLowerCase(Locale.ROOT));
     }
 
     public static String[] getRegions() {
-        String regions = "BR1, EUN1, EUW1, JP1, KR, LA1, LA2, NA1, OC1, TR1, RU, PH2, SG2, TH2, TW2, VN2";
-        return regions.split(", ");
+        return NAMES.clone();
     }
 }
@@ -1,5 +1,8 @@
 package de.MCmoderSD.riot.enums;
 
+import java.util.HashMap;
+import java.util.Locale;
+
 @SuppressWarnings("unused")
 public enum Tier {
 
@@ -10,11 +13,19 @@ public enum Tier {
     SILVER("SILVER", "Silver"),
     GOLD("GOLD", "Gold"),
     PLATINUM("PLATINUM", "Platinum"),
+    EMERALD("EMERALD", "Emerald"),
     DIAMOND("DIAMOND", "Diamond"),
     MASTER("MASTER", "Master"),
     GRANDMASTER("GRANDMASTER", "Grandmaster"),
     CHALLENGER("CHALLENGER", "Challenger");
 
+    // Lookups
+    private static final HashMap<String, Tier> BY_IDENTIFIER = new HashMap<>();
+
+    static {
+        for (Tier tier : values()) if (tier.identifier != null) BY_IDENTIFIER.put(tier.identifier, tier);
+    }
+
     // Attributes
     private final String identifier;
     private final String name;
@@ -35,7 +46,9 @@ public enum Tier {
     }
 
     public static Tier getTier(String identifier) {
-        for (Tier tier : values()) if (tier.getIdentifier() != null && tier.getIdentifier().equalsIgnoreCase(identifier)) return tier;
-        return UNRANKED;
+        if (identifier == null) return UNRANKED;
+        Tier tier = BY_IDENTIFIER.get(identifier);
+        if (tier == null) tier = BY_IDENTIFIER.get(identifier.toUpperCase(Locale.ROOT));
+        return tier == null ? UNRANKED : tier;
     }
 }
\ No newline at end of file
@@ -0,0 +1,416 @@
+package de.MCmoderSD.riot.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default metrics, recorded with striped counters and published as MXBeans on the platform MBean server.
+ * The beans live in the {@code de.MCmoderSD.riot} domain below the name of the instance:
+ * one per endpoint ({@code type=Request}), per database method ({@code type=Query}),
+ * per cache ({@code type=Cache}) and one for the client ({@code type=Client}).
+ * Beans are registered on the first measurement and unregistered on {@link #close()}.
+ * If registration fails, measurements are still recorded and can be read through the getters.
+ */
+@SuppressWarnings("unused")
+public class JmxMetrics implements Metrics, AutoCloseable {
+
+    // Constants
+    private static final String DOMAIN = "de.MCmoderSD.riot";
+    private static final int MAX_STATUS_CODE = 600;
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    // Attributes
+    private final String instance;
+    private final MBeanServer server;
+    private final ArrayList<ObjectName> registered;
+    private final ConcurrentHashMap<String, Request> requests;
+    private final ConcurrentHashMap<String, Query> queries;
+    private final ConcurrentHashMap<String, Cache> caches;
+    private final Client client;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a JmxMetrics with a generated instance name, {@code RiotAPI-1}, {@code RiotAPI-2} and so on.
+     */
+    public JmxMetrics() {
+        this("RiotAPI-" + INSTANCES.incrementAndGet());
+    }
+
+    /**
+     * Constructs a JmxMetrics with the given instance name.
+     *
+     * @param instance the name of the instance, must be unique within the JVM
+     * @throws IllegalArgumentException if the name is null or blank
+     */
+    public JmxMetrics(String instance) {
+
+        // Check Parameters
+        if (instance == null || instance.isBlank()) throw new IllegalArgumentException("Instance must not be null or blank");
+
+        // Init Attributes
+        this.instance = instance;
+        server = ManagementFactory.getPlatformMBeanServer();
+        registered = new ArrayList<>();
+        requests = new ConcurrentHashMap<>();
+        queries = new ConcurrentHashMap<>();
+        caches = new ConcurrentHashMap<>();
+        client = new Client();
+        register("Client", null, client);
+    }
+
+    @Override
+    public void recordRequest(String endpoint, int statusCode, long nanos) {
+        Request request = requests.get(endpoint);
+        if (request == null) request = requests.computeIfAbsent(endpoint, key -> register("Request", key, new Request()));
+        request.record(statusCode, nanos);
+    }
+
+    @Override
+    public void requestStarted() {
+        client.inFlight.increment();
+    }
+
+    @Override
+    public void requestFinished() {
+        client.inFlight.decrement();
+    }
+
+    @Override
+    public void recordRateLimitWait(String host, String endpoint, long millis) {
+        client.rateLimitWaits.increment();
+        client.rateLimitWaitMillis.add(millis);
+        client.maxRateLimitWaitMillis.accumulate(millis);
+    }
+
+    @Override
+    public void recordQuery(String query, long nanos) {
+        Query stats = queries.get(query);
+        if (stats == null) stats = queries.computeIfAbsent(query, key -> register("Query", key, new Query()));
+        stats.histogram.record(nanos);
+    }
+
+    @Override
+    public void recordCacheLookup(String cache, boolean hit) {
+        Cache stats = caches.get(cache);
+        if (stats == null) stats = caches.computeIfAbsent(cache, key -> register("Cache", key, new Cache()));
+        (hit ? stats.hits : stats.misses).increment();
+    }
+
+    /**
+     * Returns the name of the instance.
+     *
+     * @return the name of the instance
+     */
+    public String getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the statistics of an endpoint.
+     *
+     * @param endpoint the endpoint path
+     * @return the statistics, or null if no request to the endpoint was recorded
+     */
+    public RequestMXBean getRequest(String endpoint) {
+        return requests.get(endpoint);
+    }
+
+    /**
+     * Returns the statistics of a database method.
+     *
+     * @param query the name of the database method
+     * @return the statistics, or null if the method was not recorded
+     */
+    public QueryMXBean getQuery(String query) {
+        return queries.get(query);
+    }
+
+    /**
+     * Returns the statistics of a cache.
+     *
+     * @param cache the name of the cache
+     * @return the statistics, or null if no lookup in the cache was recorded
+     */
+    public CacheMXBean getCache(String cache) {
+        return caches.get(cache);
+    }
+
+    /**
+     * Returns the statistics of the client.
+     *
+     * @return the statistics
+     */
+    public ClientMXBean getClient() {
+        return client;
+    }
+
+    /**
+     * Unregisters all beans of the instance. Measurements recorded afterwards are kept but no longer published.
+     */
+    @Override
+    public void close() {
+        synchronized (registered) {
+            closed = true;
+            for (ObjectName name : registered) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (JMException e) {
+                    System.err.println(e.getMessage());
+                }
+            }
+            registered.clear();
+        }
+    }
+
+    /**
+     * Registers a bean below the instance name.
+     *
+     * @param type the type of the bean
+     * @param name the name of the measured object, or null for the singleton client bean
+     * @param bean the bean
+     * @param <T>  the bean type
+     * @return the bean
+     */
+    private <T> T register(String type, String name, T bean) {
+        synchronized (registered) {
+            if (closed) return bean;
+            try {
+                String objectName = DOMAIN + ":type=" + type + ",instance=" + ObjectName.quote(instance) + (name == null ? "" : ",name=" + ObjectName.quote(name));
+                registered.add(server.registerMBean(bean, new ObjectName(objectName)).getObjectName());
+            } catch (JMException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Converts microseconds to fractional milliseconds.
+     *
+     * @param micros the microseconds
+     * @return the milliseconds
+     */
+    private static double millis(double micros) {
+        return micros / 1000;
+    }
+
+    /**
+     * The latency and status codes of an endpoint.
+     */
+    public interface RequestMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP99Millis();
+        double getP999Millis();
+        double getMaxMillis();
+        Map<Integer, Long> getStatusCodes();
+    }
+
+    /**
+     * The latency of a database method.
+     */
+    public interface QueryMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP99Millis();
+        double getP999Millis();
+        double getMaxMillis();
+    }
+
+    /**
+     * The hits and misses of a cache.
+     */
+    public interface CacheMXBean {
+        long getHits();
+        long getMisses();
+        double getHitRatio();
+    }
+
+    /**
+     * The requests in flight and the time spent waiting for the rate limiter.
+     */
+    public interface ClientMXBean {
+        long getInFlight();
+        long getRateLimitWaits();
+        long getRateLimitWaitMillis();
+        long getMaxRateLimitWaitMillis();
+    }
+
+    /**
+     * The statistics of an endpoint. Status codes are counted in an array indexed by the code,
+     * codes out of range, including 0 for failed requests, share slot 0.
+     */
+    private static class Request implements RequestMXBean {
+
+        // Attributes
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicReferenceArray<LongAdder> statusCodes = new AtomicReferenceArray<>(MAX_STATUS_CODE);
+
+        /**
+         * Records a request.
+         *
+         * @param statusCode the status code, or 0 if no response was received
+         * @param nanos      the latency in nanoseconds
+         */
+        private void record(int statusCode, long nanos) {
+            histogram.record(nanos);
+            int index = statusCode > 0 && statusCode < MAX_STATUS_CODE ? statusCode : 0;
+            LongAdder counter = statusCodes.get(index);
+            if (counter == null) {
+                statusCodes.compareAndSet(index, null, new LongAdder());
+                counter = statusCodes.get(index);
+            }
+            counter.increment();
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return millis(histogram.getMean());
+        }
+
+        @Override
+        public double getP50Millis() {
+            return millis(histogram.getPercentile(50));
+        }
+
+        @Override
+        public double getP99Millis() {
+            return millis(histogram.getPercentile(99));
+        }
+
+        @Override
+        public double getP999Millis() {
+            return millis(histogram.getPercentile(99.9));
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return millis(histogram.getMax());
+        }
+
+        @Override
+        public Map<Integer, Long> getStatusCodes() {
+            TreeMap<Integer, Long> codes = new TreeMap<>();
+            for (int i = 0; i < MAX_STATUS_CODE; i++) {
+                LongAdder counter = statusCodes.get(i);
+                if (counter != null) codes.put(i, counter.sum());
+            }
+            return codes;
+        }
+    }
+
+    /**
+     * The statistics of a database method.
+     */
+    private static class Query implements QueryMXBean {
+
+        // Attributes
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return millis(histogram.getMean());
+        }
+
+        @Override
+        public double getP50Millis() {
+            return millis(histogram.getPercentile(50));
+        }
+
+        @Override
+        public double getP99Millis() {
+            return millis(histogram.getPercentile(99));
+        }
+
+        @Override
+        public double getP999Millis() {
+            return millis(histogram.getPercentile(99.9));
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return millis(histogram.getMax());
+        }
+    }
+
+    /**
+     * The statistics of a cache.
+     */
+    private static class Cache implements CacheMXBean {
+
+        // Attributes
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        @Override
+        public long getHits() {
+            return hits.sum();
+        }
+
+        @Override
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        @Override
+        public double getHitRatio() {
+            long hit = hits.sum();
+            long total = hit + misses.sum();
+            return total == 0 ? 0 : (double) hit / total;
+        }
+    }
+
+    /**
+     * The statistics of the client.
+     */
+    private static class Client implements ClientMXBean {
+
+        // Attributes
+        private final LongAdder inFlight = new LongAdder();
+        private final LongAdder rateLimitWaits = new LongAdder();
+        private final LongAdder rateLimitWaitMillis = new LongAdder();
+        private final LongAccumulator maxRateLimitWaitMillis = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public long getInFlight() {
+            return inFlight.sum();
+        }
+
+        @Override
+        public long getRateLimitWaits() {
+            return rateLimitWaits.sum();
+        }
+
+        @Override
+        public long getRateLimitWaitMillis() {
+            return rateLimitWaitMillis.sum();
+        }
+
+        @Override
+        public long getMaxRateLimitWaitMillis() {
+            return maxRateLimitWaitMillis.get();
+        }
+    }
+}
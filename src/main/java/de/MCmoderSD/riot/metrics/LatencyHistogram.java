@@ -0,0 +1,130 @@
+package de.MCmoderSD.riot.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets.
+ * Values are recorded in microseconds into eight buckets per power of two,
+ * so percentiles are accurate to 12.5% from one microsecond up to about twelve days.
+ * Recording only increments striped counters and never allocates once the counters are warm.
+ */
+@SuppressWarnings("unused")
+public class LatencyHistogram {
+
+    // Constants
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (40 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    // Attributes
+    private final LongAdder[] buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+        count = new LongAdder();
+        sum = new LongAdder();
+        max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos) / 1000;
+        buckets[index(micros)].increment();
+        count.increment();
+        sum.add(micros);
+        max.accumulate(micros);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return the mean latency in microseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns the highest recorded latency.
+     *
+     * @return the highest latency in microseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns a latency percentile. The result is the upper bound of the bucket holding the percentile, capped at the maximum.
+     * The last bucket also holds all values beyond the range, so it is reported as the maximum.
+     * Counters are read one by one while recording goes on, so the result is approximate under load.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in microseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+
+        // Snapshot the buckets
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts[i] = buckets[i].sum();
+        if (total == 0) return 0;
+
+        // Find the bucket of the rank
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i == BUCKETS - 1 ? max.get() : Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns the bucket of a value: values below eight have their own bucket,
+     * larger values are split into eight buckets per power of two.
+     *
+     * @param micros the value in microseconds
+     * @return the bucket index
+     */
+    private static int index(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+    }
+
+    /**
+     * Returns the largest value that falls into a bucket.
+     *
+     * @param index the bucket index
+     * @return the upper bound in microseconds
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
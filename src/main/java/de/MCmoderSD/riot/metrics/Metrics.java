@@ -0,0 +1,74 @@
+package de.MCmoderSD.riot.metrics;
+
+/**
+ * Receives the measurements of a RiotAPI and its database handler.
+ * Implementations are called on the request path from many threads at once,
+ * so recording must be thread-safe, must not block and should not allocate.
+ * All methods default to doing nothing, so implementations only override what they need.
+ *
+ * @see JmxMetrics
+ */
+@SuppressWarnings("unused")
+public interface Metrics {
+
+    // Constants
+    String SUMMONER_CACHE = "summoner";
+    String ACCOUNT_CACHE = "account";
+    String ENTRY_CACHE = "entries";
+    String PROFILE_CACHE = "profiles";
+    String IDENTITY_CACHE = "identity";
+    String NEGATIVE_CACHE = "negative";
+
+    // Instances
+    Metrics NOOP = new Metrics() {};
+
+    /**
+     * Records a completed request to the Riot Games API.
+     *
+     * @param endpoint   the endpoint path of the request
+     * @param statusCode the status code of the response, or 0 if no response was received
+     * @param nanos      the latency of the request in nanoseconds
+     */
+    default void recordRequest(String endpoint, int statusCode, long nanos) {
+    }
+
+    /**
+     * Records that a request was sent and is now in flight.
+     */
+    default void requestStarted() {
+    }
+
+    /**
+     * Records that a request in flight completed, successfully or not.
+     */
+    default void requestFinished() {
+    }
+
+    /**
+     * Records that a request was delayed by the rate limiter.
+     *
+     * @param host     the region or cluster of the request
+     * @param endpoint the endpoint path of the request
+     * @param millis   the delay in milliseconds
+     */
+    default void recordRateLimitWait(String host, String endpoint, long millis) {
+    }
+
+    /**
+     * Records a database operation, including the time spent waiting for a pooled connection.
+     *
+     * @param query the name of the database method
+     * @param nanos the latency of the operation in nanoseconds
+     */
+    default void recordQuery(String query, long nanos) {
+    }
+
+    /**
+     * Records a lookup in a cache, e.g. a stored summoner that could be served without asking the Riot Games API.
+     *
+     * @param cache the name of the cache, see the constants of this interface
+     * @param hit   true if the value was served from the cache
+     */
+    default void recordCacheLookup(String cache, boolean hit) {
+    }
+}
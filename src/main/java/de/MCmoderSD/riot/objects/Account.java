@@ -1,7 +1,11 @@
 package de.MCmoderSD.riot.objects;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.IOException;
+
 /**
  * Represents an account with a PUUID, game name, and tag line.
  */
@@ -36,6 +40,39 @@ public class Account {
         this.gameName = json.get("gameName").asText();
     }
 
+    /**
+     * Constructs an Account object by streaming the current JSON object of the parser.
+     * Unknown fields are skipped, no intermediate tree is built.
+     *
+     * @param parser the parser positioned on the start of the account object
+     * @throws IOException if the JSON is malformed
+     */
+    public Account(JsonParser parser) throws IOException {
+
+        // Check the position
+        if (parser.currentToken() != JsonToken.START_OBJECT) throw new IOException("Expected an account object");
+
+        // Read the fields
+        String puuid = null;
+        String gameName = null;
+        String tagLine = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "puuid" -> puuid = parser.getValueAsString();
+                case "gameName" -> gameName = parser.getValueAsString();
+                case "tagLine" -> tagLine = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Set attributes
+        this.puuid = puuid;
+        this.gameName = gameName;
+        this.tagLine = tagLine;
+    }
+
     /**
      * Returns the PUUID of the account.
      *
@@ -1,7 +1,11 @@
 package de.MCmoderSD.riot.objects;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.IOException;
+
 /**
  * Represents an entry in the league.
  */
@@ -10,6 +14,7 @@ public class Entry {
 
     // Attributes
     private final String leagueId;
+    private final String queueType;
     private final String tier;
     private final String rank;
     private final String summonerId;
@@ -37,7 +42,28 @@ public class Entry {
      * @param hotStreak    whether the summoner is on a hot streak
      */
     public Entry(String leagueId, String tier, String rank, String summonerId, int leaguePoints, int wins, int losses, boolean veteran, boolean inactive, boolean freshBlood, boolean hotStreak) {
+        this(leagueId, null, tier, rank, summonerId, leaguePoints, wins, losses, veteran, inactive, freshBlood, hotStreak);
+    }
+
+    /**
+     * Constructs an Entry object with the specified attributes and queue type.
+     *
+     * @param leagueId     the ID of the league
+     * @param queueType    the queue type of the league
+     * @param tier         the tier of the league
+     * @param rank         the rank within the tier
+     * @param summonerId   the ID of the summoner
+     * @param leaguePoints the league points
+     * @param wins         the number of wins
+     * @param losses       the number of losses
+     * @param veteran      whether the summoner is a veteran
+     * @param inactive     whether the summoner is inactive
+     * @param freshBlood   whether the summoner is fresh blood
+     * @param hotStreak    whether the summoner is on a hot streak
+     */
+    public Entry(String leagueId, String queueType, String tier, String rank, String summonerId, int leaguePoints, int wins, int losses, boolean veteran, boolean inactive, boolean freshBlood, boolean hotStreak) {
         this.leagueId = leagueId;
+        this.queueType = queueType;
         this.tier = tier;
         this.rank = rank;
         this.summonerId = summonerId;
@@ -57,6 +83,7 @@ public class Entry {
      */
     public Entry(JsonNode json) {
         this.leagueId = json.get("leagueId").asText();
+        this.queueType = json.has("queueType") ? json.get("queueType").asText() : null;
         this.tier = json.get("tier").asText();
         this.rank = json.get("rank").asText();
         this.summonerId = json.get("summonerId").asText();
@@ -69,6 +96,66 @@ public class Entry {
         this.hotStreak = json.get("hotStreak").asBoolean();
     }
 
+    /**
+     * Constructs an Entry object by streaming the current JSON object of the parser.
+     * Unknown fields are skipped, no intermediate tree is built.
+     *
+     * @param parser the parser positioned on the start of the entry object
+     * @throws IOException if the JSON is malformed
+     */
+    public Entry(JsonParser parser) throws IOException {
+
+        // Check the position
+        if (parser.currentToken() != JsonToken.START_OBJECT) throw new IOException("Expected an entry object");
+
+        // Read the fields
+        String leagueId = null;
+        String queueType = null;
+        String tier = null;
+        String rank = null;
+        String summonerId = null;
+        int leaguePoints = 0;
+        int wins = 0;
+        int losses = 0;
+        boolean veteran = false;
+        boolean inactive = false;
+        boolean freshBlood = false;
+        boolean hotStreak = false;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "leagueId" -> leagueId = parser.getValueAsString();
+                case "queueType" -> queueType = parser.getValueAsString();
+                case "tier" -> tier = parser.getValueAsString();
+                case "rank" -> rank = parser.getValueAsString();
+                case "summonerId" -> summonerId = parser.getValueAsString();
+                case "leaguePoints" -> leaguePoints = parser.getValueAsInt();
+                case "wins" -> wins = parser.getValueAsInt();
+                case "losses" -> losses = parser.getValueAsInt();
+                case "veteran" -> veteran = parser.getValueAsBoolean();
+                case "inactive" -> inactive = parser.getValueAsBoolean();
+                case "freshBlood" -> freshBlood = parser.getValueAsBoolean();
+                case "hotStreak" -> hotStreak = parser.getValueAsBoolean();
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Set attributes
+        this.leagueId = leagueId;
+        this.queueType = queueType;
+        this.tier = tier;
+        this.rank = rank;
+        this.summonerId = summonerId;
+        this.leaguePoints = leaguePoints;
+        this.wins = wins;
+        this.losses = losses;
+        this.veteran = veteran;
+        this.inactive = inactive;
+        this.freshBlood = freshBlood;
+        this.hotStreak = hotStreak;
+    }
+
     /**
      * Returns the ID of the league.
      *
@@ -78,6 +165,15 @@ public class Entry {
         return leagueId;
     }
 
+    /**
+     * Returns the queue type of the league.
+     *
+     * @return the queue type of the league, or null if unknown
+     */
+    public String getQueueType() {
+        return queueType;
+    }
+
     /**
      * Returns the tier of the league.
      *
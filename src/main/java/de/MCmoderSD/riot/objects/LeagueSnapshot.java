@@ -0,0 +1,91 @@
+package de.MCmoderSD.riot.objects;
+
+import java.time.Instant;
+
+/**
+ * Represents a recorded state of a league entry at a point in time.
+ */
+@SuppressWarnings("unused")
+public class LeagueSnapshot {
+
+    // Attributes
+    private final Instant timestamp;
+    private final String tier;
+    private final String rank;
+    private final int leaguePoints;
+    private final int wins;
+    private final int losses;
+
+    /**
+     * Constructs a LeagueSnapshot object with the specified attributes.
+     *
+     * @param timestamp    the time the state was recorded
+     * @param tier         the tier of the league
+     * @param rank         the rank within the tier
+     * @param leaguePoints the league points
+     * @param wins         the number of wins
+     * @param losses       the number of losses
+     */
+    public LeagueSnapshot(Instant timestamp, String tier, String rank, int leaguePoints, int wins, int losses) {
+        this.timestamp = timestamp;
+        this.tier = tier;
+        this.rank = rank;
+        this.leaguePoints = leaguePoints;
+        this.wins = wins;
+        this.losses = losses;
+    }
+
+    /**
+     * Returns the time the state was recorded.
+     *
+     * @return the time the state was recorded
+     */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the tier of the league.
+     *
+     * @return the tier of the league
+     */
+    public String getTier() {
+        return tier;
+    }
+
+    /**
+     * Returns the rank within the tier.
+     *
+     * @return the rank within the tier
+     */
+    public String getRank() {
+        return rank;
+    }
+
+    /**
+     * Returns the league points.
+     *
+     * @return the league points
+     */
+    public int getLeaguePoints() {
+        return leaguePoints;
+    }
+
+    /**
+     * Returns the number of wins.
+     *
+     * @return the number of wins
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the number of losses.
+     *
+     * @return the number of losses
+     */
+    public int getLosses() {
+        return losses;
+    }
+}
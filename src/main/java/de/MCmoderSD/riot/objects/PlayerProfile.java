@@ -0,0 +1,105 @@
+package de.MCmoderSD.riot.objects;
+
+import de.MCmoderSD.riot.enums.QueueType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the complete profile of a player, composed of the account, the summoner and all league entries.
+ */
+@SuppressWarnings("unused")
+public class PlayerProfile {
+
+    // Attributes
+    private final Account account;
+    private final Summoner summoner;
+    private final List<Entry> entries;
+    private final Map<QueueType, Entry> queues;
+
+    /**
+     * Constructs a PlayerProfile object with the specified account, summoner and entries.
+     *
+     * @param account  the account of the player
+     * @param summoner the summoner of the player
+     * @param entries  the league entries of the player, empty if unranked
+     */
+    public PlayerProfile(Account account, Summoner summoner, List<Entry> entries) {
+        this.account = account;
+        this.summoner = summoner;
+        this.entries = List.copyOf(entries);
+        this.queues = Collections.unmodifiableMap(byQueue(entries));
+    }
+
+    /**
+     * Indexes league entries by their queue type. Entries of unknown queues are left out.
+     *
+     * @param entries the league entries
+     * @return a map of the entries by queue type
+     */
+    public static EnumMap<QueueType, Entry> byQueue(List<Entry> entries) {
+        EnumMap<QueueType, Entry> queues = new EnumMap<>(QueueType.class);
+        for (Entry entry : entries) {
+            QueueType queueType = QueueType.getQueueType(entry.getQueueType());
+            if (queueType != null) queues.put(queueType, entry);
+        }
+        return queues;
+    }
+
+    /**
+     * Returns the account of the player.
+     *
+     * @return the account of the player
+     */
+    public Account getAccount() {
+        return account;
+    }
+
+    /**
+     * Returns the summoner of the player.
+     *
+     * @return the summoner of the player
+     */
+    public Summoner getSummoner() {
+        return summoner;
+    }
+
+    /**
+     * Returns all league entries of the player.
+     *
+     * @return an unmodifiable list of the entries, empty if unranked
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the league entries of the player by queue type.
+     *
+     * @return an unmodifiable map of the entries, empty if unranked
+     */
+    public Map<QueueType, Entry> getQueues() {
+        return queues;
+    }
+
+    /**
+     * Returns the Ranked Solo/Duo entry of the player.
+     *
+     * @return the Solo/Duo entry, or null if unranked in Solo/Duo
+     */
+    public Entry getEntry() {
+        return getEntry(QueueType.RANKED_SOLO_5x5);
+    }
+
+    /**
+     * Returns the league entry of the player in the given queue.
+     *
+     * @param queueType the queue type
+     * @return the entry, or null if unranked in the queue
+     */
+    public Entry getEntry(QueueType queueType) {
+        return queues.get(queueType);
+    }
+}
@@ -0,0 +1,79 @@
+package de.MCmoderSD.riot.objects;
+
+import java.security.InvalidParameterException;
+import java.util.Locale;
+
+/**
+ * Represents a Riot ID consisting of a game name and a tag line.
+ * Riot IDs are compared case-insensitively, just like the Riot Games API resolves them.
+ */
+public class RiotId {
+
+    // Attributes
+    private final String gameName;
+    private final String tagLine;
+    private final String key;
+
+    /**
+     * Constructs a RiotId object with the specified game name and tag line.
+     *
+     * @param gameName the game name of the Riot ID
+     * @param tagLine  the tag line of the Riot ID
+     * @throws InvalidParameterException if the game name or tag line is null
+     */
+    public RiotId(String gameName, String tagLine) {
+        if (gameName == null || tagLine == null) throw new InvalidParameterException("GameName and TagLine must not be null");
+        this.gameName = gameName;
+        this.tagLine = tagLine;
+        this.key = (gameName + "#" + tagLine).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses a Riot ID in the format {@code gameName#tagLine}.
+     *
+     * @param riotId the Riot ID to parse
+     * @return the RiotId object
+     * @throws InvalidParameterException if the Riot ID is not in the expected format
+     */
+    public static RiotId parse(String riotId) {
+        if (riotId == null) throw new InvalidParameterException("Riot ID must not be null");
+        int index = riotId.lastIndexOf('#');
+        if (index < 0) throw new InvalidParameterException("Riot ID must be in the format gameName#tagLine");
+        return new RiotId(riotId.substring(0, index), riotId.substring(index + 1));
+    }
+
+    /**
+     * Returns the game name of the Riot ID.
+     *
+     * @return the game name of the Riot ID
+     */
+    public String getGameName() {
+        return gameName;
+    }
+
+    /**
+     * Returns the tag line of the Riot ID.
+     *
+     * @return the tag line of the Riot ID
+     */
+    public String getTagLine() {
+        return tagLine;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof RiotId riotId)) return false;
+        return key.equals(riotId.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return gameName + "#" + tagLine;
+    }
+}
@@ -1,7 +1,11 @@
 package de.MCmoderSD.riot.objects;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.IOException;
+
 /**
  * Represents a summoner in the game.
  */
@@ -44,6 +48,45 @@ public class Summoner {
         this.summonerLevel = json.get("summonerLevel").asInt();
     }
 
+    /**
+     * Constructs a Summoner object by streaming the current JSON object of the parser.
+     * Unknown fields are skipped, no intermediate tree is built.
+     *
+     * @param parser the parser positioned on the start of the summoner object
+     * @throws IOException if the JSON is malformed
+     */
+    public Summoner(JsonParser parser) throws IOException {
+
+        // Check the position
+        if (parser.currentToken() != JsonToken.START_OBJECT) throw new IOException("Expected a summoner object");
+
+        // Read the fields
+        String summonerId = null;
+        String accountId = null;
+        String puuid = null;
+        int profileIconId = 0;
+        int summonerLevel = 0;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "id" -> summonerId = parser.getValueAsString();
+                case "accountId" -> accountId = parser.getValueAsString();
+                case "puuid" -> puuid = parser.getValueAsString();
+                case "profileIconId" -> profileIconId = parser.getValueAsInt();
+                case "summonerLevel" -> summonerLevel = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Set attributes
+        this.summonerId = summonerId;
+        this.accountId = accountId;
+        this.puuid = puuid;
+        this.profileIconId = profileIconId;
+        this.summonerLevel = summonerLevel;
+    }
+
     /**
      * Returns the ID of the summoner.
      *
@@ -0,0 +1,47 @@
+import de.MCmoderSD.riot.core.RiotAPI;
+import de.MCmoderSD.riot.enums.Cluster;
+import de.MCmoderSD.riot.enums.Region;
+import de.MCmoderSD.riot.simulator.LatencyDistribution;
+import de.MCmoderSD.riot.simulator.LoadGenerator;
+import de.MCmoderSD.riot.simulator.RiotSimulator;
+import de.MCmoderSD.sql.Driver;
+
+import java.time.Duration;
+
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+
+        // Simulator
+        try (RiotSimulator simulator = new RiotSimulator()) {
+            simulator.setLatency(LatencyDistribution.logNormal(Duration.ofMillis(40), 0.5).withSpikes(0.001, Duration.ofMillis(500)));
+            simulator.setAppRateLimit("500:1,30000:600");      // App Rate Limit
+            simulator.setMethodRateLimit("2000:10");            // Method Rate Limit
+            simulator.setErrorRate(0.01);                       // 503 Rate
+
+            // API
+            RiotAPI api = new RiotAPI(
+                    "API_KEY",                      // API Key
+                    Cluster.EUROPE,                 // Cluster
+                    Driver.DatabaseType.MARIADB,    // Database Type
+                    "localhost",                    // Domain
+                    3306,                           // Port
+                    "RiotGames",                    // Database
+                    "YourUser",                     // User
+                    "YourPassword");                // Password
+            api.setBaseUrl(simulator.getUrl());
+
+            // Load
+            LoadGenerator generator = new LoadGenerator(api, Region.EUW1, LoadGenerator.createPlayers(5000));
+            int users = 200;                                    // Virtual Users
+            Duration duration = Duration.ofSeconds(30);         // Duration
+
+            // Output
+            System.out.println("Warmup: " + generator.run(LoadGenerator.Operation.GET_RANK, users, Duration.ofSeconds(10)));
+            System.out.println(generator.run(LoadGenerator.Operation.GET_RANK, users, duration));
+            System.out.println(generator.run(LoadGenerator.Operation.GET_ENTRY, users, duration));
+            System.out.println("Requests: " + simulator.getRequests() + ", Rate Limited: " + simulator.getRateLimited() + ", Injected Errors: " + simulator.getInjectedErrors());
+            api.close();
+        }
+    }
+}
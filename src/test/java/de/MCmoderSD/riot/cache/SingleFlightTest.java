@@ -0,0 +1,97 @@
+package de.MCmoderSD.riot.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that {@link SingleFlight} shares one operation between concurrent callers of a key.
+ */
+class SingleFlightTest {
+
+    @Test
+    void sharesTheOperationInFlight() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Integer> operation = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = flights.execute("key", () -> {
+            started.incrementAndGet();
+            return operation;
+        });
+        CompletableFuture<Integer> second = flights.execute("key", () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(2);
+        });
+        assertEquals(1, started.get());
+        assertEquals(1, flights.size());
+        assertFalse(first.isDone());
+
+        operation.complete(1);
+        assertEquals(1, first.join());
+        assertEquals(1, second.join());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void keepsKeysApart() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> first = flights.execute("a", CompletableFuture::new);
+        CompletableFuture<Integer> second = flights.execute("b", () -> CompletableFuture.completedFuture(2));
+        assertEquals(2, second.join());
+        assertFalse(first.isDone());
+        assertEquals(1, flights.size());
+    }
+
+    @Test
+    void startsAgainAfterCompletion() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger started = new AtomicInteger();
+        for (int i = 0; i < 3; i++) flights.execute("key", () -> CompletableFuture.completedFuture(started.incrementAndGet())).join();
+        assertEquals(3, started.get());
+    }
+
+    @Test
+    void sharesFailures() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> operation = new CompletableFuture<>();
+        CompletableFuture<Integer> first = flights.execute("key", () -> operation);
+        CompletableFuture<Integer> second = flights.execute("key", CompletableFuture::new);
+        operation.completeExceptionally(new IllegalStateException("failed"));
+        assertInstanceOf(IllegalStateException.class, assertThrows(CompletionException.class, first::join).getCause());
+        assertInstanceOf(IllegalStateException.class, assertThrows(CompletionException.class, second::join).getCause());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void failsIfTheOperationThrows() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> failed = flights.execute("key", () -> {
+            throw new IllegalArgumentException("invalid");
+        });
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void isolatesCallersFromEachOther() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> operation = new CompletableFuture<>();
+        CompletableFuture<Integer> first = flights.execute("key", () -> operation);
+        CompletableFuture<Integer> second = flights.execute("key", CompletableFuture::new);
+
+        // Cancelling one caller leaves the shared operation and the other caller running
+        first.cancel(true);
+        assertFalse(operation.isDone());
+        operation.complete(1);
+        assertEquals(1, second.join());
+    }
+}
@@ -0,0 +1,67 @@
+package de.MCmoderSD.riot.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the expiry and the size bound of {@link TimedCache}.
+ */
+class TimedCacheTest {
+
+    @Test
+    void returnsLiveValues() {
+        TimedCache<String, Integer> cache = new TimedCache<>(Duration.ofHours(1), 10);
+        cache.put("a", 1);
+        cache.put("a", 2);
+        assertEquals(2, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void dropsExpiredValues() {
+        TimedCache<String, Integer> cache = new TimedCache<>(Duration.ZERO, 10);
+        cache.put("a", 1);
+        assertEquals(1, cache.size());
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedValue() {
+        TimedCache<String, Integer> cache = new TimedCache<>(Duration.ofHours(1), 2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void invalidatesAndClears() {
+        TimedCache<String, Integer> cache = new TimedCache<>(Duration.ofHours(1), 10);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimedCache<String, Integer>(Duration.ofSeconds(-1), 10));
+        assertThrows(IllegalArgumentException.class, () -> new TimedCache<String, Integer>(Duration.ofSeconds(1), 0));
+        TimedCache<String, Integer> cache = new TimedCache<>(Duration.ofSeconds(1), 10);
+        assertThrows(IllegalArgumentException.class, () -> cache.put("a", null));
+    }
+}
@@ -0,0 +1,69 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.objects.Account;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that calls to a hung upstream give their admission back at the deadline.
+ * The upstream never answers, so the database is never reached.
+ */
+class AdmissionTest {
+
+    // Constants
+    private static final Duration DEADLINE = Duration.ofMillis(100);
+
+    // Associations
+    private StubTransport transport;
+    private RiotAPI riotAPI;
+
+    @BeforeEach
+    void setUp() {
+        transport = new StubTransport(request -> new CompletableFuture<>());
+        riotAPI = transport.builder()
+                .retryPolicy(new RetryPolicy(0, Duration.ZERO, Duration.ZERO, DEADLINE))
+                .admissionLimit(1)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        riotAPI.close();
+    }
+
+    @Test
+    void shedsCallsAboveTheLimit() {
+        CompletableFuture<Account> pending = riotAPI.getAccountByPuuidAsync("puuid-1");
+        Throwable shed = failure(riotAPI.getAccountByPuuidAsync("puuid-2"));
+        assertEquals(RiotException.SERVICE_UNAVAILABLE, assertInstanceOf(RiotException.class, shed).getStatusCode());
+        assertInstanceOf(HttpTimeoutException.class, failure(pending));
+    }
+
+    @Test
+    void releasesTheAdmissionOfAHungCallAtTheDeadline() {
+        for (int i = 0; i < 3; i++) assertInstanceOf(HttpTimeoutException.class, failure(riotAPI.getAccountByPuuidAsync("puuid-" + i)));
+        assertEquals(3, transport.getSent());
+    }
+
+    /**
+     * Waits for a call to fail.
+     *
+     * @param future the call
+     * @return the cause of the failure
+     */
+    private static Throwable failure(CompletableFuture<?> future) {
+        return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+    }
+}
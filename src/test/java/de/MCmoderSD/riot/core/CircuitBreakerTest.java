@@ -0,0 +1,139 @@
+package de.MCmoderSD.riot.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the state transitions of {@link CircuitBreaker} against a manual clock.
+ */
+class CircuitBreakerTest {
+
+    // Constants
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+    private static final long OPEN = TimeUnit.SECONDS.toNanos(10);
+
+    // Attributes
+    private AtomicLong clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1000);
+        breaker = new CircuitBreaker(new CircuitBreakerPolicy(0.5, Duration.ofSeconds(1), 4, 4, Duration.ofNanos(OPEN)), clock::get);
+    }
+
+    @Test
+    void staysClosedBelowMinCalls() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.record(true, FAST);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void opensAtFailureRate() {
+        record(false, true, false, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void countsSlowCallsAsFailures() {
+        breaker.record(false, FAST);
+        breaker.record(false, FAST);
+        breaker.record(false, SLOW);
+        breaker.record(false, SLOW);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void slidesTheWindow() {
+        record(true, false, false, false);
+        record(false);
+        record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        record(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void probesAfterOpenDuration() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN - 1);
+        assertFalse(breaker.tryAcquire());
+        clock.addAndGet(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void closesOnSuccessfulProbeAndResetsTheWindow() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN);
+        assertTrue(breaker.tryAcquire());
+        breaker.record(false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // The failures before the circuit opened are forgotten
+        record(true, true, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensOnFailedProbe() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN);
+        assertTrue(breaker.tryAcquire());
+        breaker.record(true, FAST);
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void reopensOnHungProbe() {
+        record(true, true, true, true);
+        clock.addAndGet(OPEN);
+        assertTrue(breaker.tryAcquire());
+
+        // The probe never reports
+        clock.addAndGet(OPEN - 1);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        clock.addAndGet(1);
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+
+        // The next probe is let through after another open duration
+        clock.addAndGet(OPEN);
+        assertTrue(breaker.tryAcquire());
+        breaker.record(false, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void ignoresLateOutcomesWhileOpen() {
+        record(true, true, true, true);
+        breaker.record(false, FAST);
+        assertTrue(breaker.isOpen());
+    }
+
+    /**
+     * Records fast outcomes of calls.
+     *
+     * @param failures whether each call failed
+     */
+    private void record(boolean... failures) {
+        for (boolean failed : failures) breaker.record(failed, FAST);
+    }
+}
@@ -0,0 +1,52 @@
+package de.MCmoderSD.riot.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests how {@link Endpoint} builds request URIs from Riot IDs and other path segments.
+ */
+class EndpointTest {
+
+    // Constants
+    private static final String BASE_URL = "https://europe.api.riotgames.com";
+
+    @Test
+    void keepsUnreservedSegments() {
+        URI uri = Endpoint.ACCOUNT_BY_RIOT_ID.uri(BASE_URL, "Player_1.x~y-z", "EUW");
+        assertEquals("https://europe.api.riotgames.com/riot/account/v1/accounts/by-riot-id/Player_1.x~y-z/EUW", uri.toString());
+        assertEquals("/riot/account/v1/accounts/by-riot-id/Player_1.x~y-z/EUW", uri.getPath());
+    }
+
+    @Test
+    void encodesSpacesAsPercentTwenty() {
+        URI uri = Endpoint.ACCOUNT_BY_RIOT_ID.uri(BASE_URL, "Hide on bush", "KR1");
+        assertEquals("/riot/account/v1/accounts/by-riot-id/Hide%20on%20bush/KR1", uri.getRawPath());
+        assertEquals("/riot/account/v1/accounts/by-riot-id/Hide on bush/KR1", uri.getPath());
+    }
+
+    @Test
+    void encodesNonAsciiAsUtf8() {
+        URI uri = Endpoint.ACCOUNT_BY_RIOT_ID.uri(BASE_URL, "Müller", "ДЖИ");
+        assertEquals("/riot/account/v1/accounts/by-riot-id/M%C3%BCller/%D0%94%D0%96%D0%98", uri.getRawPath());
+        assertEquals("/riot/account/v1/accounts/by-riot-id/Müller/ДЖИ", uri.getPath());
+    }
+
+    @Test
+    void encodesReservedCharacters() {
+        URI uri = Endpoint.ACCOUNT_BY_RIOT_ID.uri(BASE_URL, "a/b?c#d+e", "EUW");
+        assertEquals("/riot/account/v1/accounts/by-riot-id/a%2Fb%3Fc%23d%2Be/EUW", uri.getRawPath());
+        assertNull(uri.getRawQuery());
+        assertNull(uri.getRawFragment());
+    }
+
+    @Test
+    void appendsThePage() {
+        URI uri = Endpoint.LEAGUE_ENTRIES.uri("https://euw1.api.riotgames.com", 3, "RANKED_SOLO_5x5", "GOLD", "I");
+        assertEquals("https://euw1.api.riotgames.com/lol/league/v4/entries/RANKED_SOLO_5x5/GOLD/I?page=3", uri.toString());
+    }
+}
@@ -0,0 +1,93 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.enums.QueueType;
+import de.MCmoderSD.riot.enums.Region;
+import de.MCmoderSD.riot.enums.Tier;
+import de.MCmoderSD.riot.objects.Entry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests when a RiotAPI sends a backup request for a slow attempt.
+ * League pages are used since they are never stored, and the endpoint is warmed up with instant answers first.
+ */
+class HedgeTest {
+
+    // Constants
+    private static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(20);
+
+    // Associations
+    private StubTransport transport;
+    private RiotAPI riotAPI;
+
+    // Attributes
+    private volatile boolean hangFirst;
+    private volatile int hung;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transport = new StubTransport(this::answer);
+        riotAPI = transport.builder().retryPolicy(RetryPolicy.NONE.withHedging(95, MIN_HEDGE_DELAY)).build();
+        for (int i = 0; i < RetryPolicy.MIN_HEDGE_SAMPLES; i++) page().get(5, TimeUnit.SECONDS);
+
+        // Let the cached hedge delay expire
+        Thread.sleep(150);
+    }
+
+    @AfterEach
+    void tearDown() {
+        riotAPI.close();
+    }
+
+    @Test
+    void sendsABackupForASlowAttempt() throws Exception {
+        int warmUp = transport.getSent();
+        hangFirst = true;
+        assertTrue(page().get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(1, hung);
+        assertEquals(warmUp + 2, transport.getSent());
+    }
+
+    @Test
+    void sendsNoBackupForAFastAttempt() throws Exception {
+        int warmUp = transport.getSent();
+        assertTrue(page().get(5, TimeUnit.SECONDS).isEmpty());
+        Thread.sleep(MIN_HEDGE_DELAY.toMillis() * 3);
+        assertEquals(warmUp + 1, transport.getSent());
+    }
+
+    /**
+     * Requests the first page of a ladder.
+     *
+     * @return the page
+     */
+    private CompletableFuture<List<Entry>> page() {
+        return riotAPI.getLeagueEntriesAsync(Region.EUW1, QueueType.RANKED_SOLO_5x5, Tier.GOLD, "I", 1);
+    }
+
+    /**
+     * Answers with an empty page right away, or never for the first request after {@link #hangFirst} is set.
+     *
+     * @param request the request
+     * @return the response
+     */
+    private synchronized CompletableFuture<HttpResponse<byte[]>> answer(HttpRequest request) {
+        if (hangFirst && hung == 0) {
+            hung++;
+            return new CompletableFuture<>();
+        }
+        return StubResponse.ok(request, "[]", "X-App-Rate-Limit", "1000:1");
+    }
+}
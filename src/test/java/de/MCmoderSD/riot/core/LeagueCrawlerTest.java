@@ -0,0 +1,184 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.enums.QueueType;
+import de.MCmoderSD.riot.enums.Region;
+import de.MCmoderSD.riot.enums.Tier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how a {@link LeagueCrawler} resumes, repeats and paces its crawls.
+ * The ladder holds a Challenger league of two players and two pages of Gold I, every other ladder is empty.
+ */
+class LeagueCrawlerTest {
+
+    // Constants
+    private static final List<Region> REGIONS = List.of(Region.EUW1);
+    private static final QueueType QUEUE = QueueType.RANKED_SOLO_5x5;
+    private static final String CHALLENGER = "EUW1:CHALLENGER:I";
+    private static final String GOLD = "EUW1:GOLD:I";
+
+    // Associations
+    private StubTransport transport;
+    private RiotAPI riotAPI;
+    private LeagueCrawler.Checkpoint checkpoint;
+
+    // Attributes
+    private ConcurrentHashMap<String, Integer> requests;
+    private List<String> written;
+    private volatile String failingPage;
+
+    @BeforeEach
+    void setUp() {
+        requests = new ConcurrentHashMap<>();
+        written = Collections.synchronizedList(new ArrayList<>());
+        transport = new StubTransport(this::answer);
+        riotAPI = transport.builder().retryPolicy(RetryPolicy.NONE).build();
+        checkpoint = LeagueCrawler.Checkpoint.inMemory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        riotAPI.close();
+    }
+
+    @Test
+    void crawlsEveryLadderAndStartsOverAfterwards() throws InterruptedException {
+        LeagueCrawler crawler = new LeagueCrawler(riotAPI, this::write, checkpoint, 4);
+        assertTrue(crawler.crawl(REGIONS, QUEUE).isEmpty());
+        assertEquals(List.of(CHALLENGER + ":1", GOLD + ":1", GOLD + ":2"), written);
+        assertEquals(0, checkpoint.getCompletedPage(key(Tier.CHALLENGER, "I")));
+        assertEquals(0, checkpoint.getCompletedPage(key(Tier.GOLD, "I")));
+
+        // The next crawl is a fresh snapshot
+        written.clear();
+        assertTrue(crawler.crawl(REGIONS, QUEUE).isEmpty());
+        assertEquals(List.of(CHALLENGER + ":1", GOLD + ":1", GOLD + ":2"), written);
+        assertEquals(2, requests.get("CHALLENGER"));
+        assertEquals(2, requests.get("GOLD:I:3"));
+    }
+
+    @Test
+    void resumesAfterAFailedSink() throws InterruptedException {
+        LeagueCrawler failing = new LeagueCrawler(riotAPI, page -> {
+            if (page.getTier() == Tier.GOLD && page.getNumber() == 2) throw new IllegalStateException("Disk full");
+            write(page);
+        }, checkpoint, 4);
+        assertThrows(RuntimeException.class, () -> failing.crawl(REGIONS, QUEUE));
+        assertEquals(LeagueCrawler.Checkpoint.FINISHED, checkpoint.getCompletedPage(key(Tier.CHALLENGER, "I")));
+        assertEquals(LeagueCrawler.Checkpoint.FINISHED, checkpoint.getCompletedPage(key(Tier.DIAMOND, "IV")));
+        assertEquals(1, checkpoint.getCompletedPage(key(Tier.GOLD, "I")));
+
+        // Finished ladders are skipped, Gold I continues with its second page
+        written.clear();
+        assertTrue(new LeagueCrawler(riotAPI, this::write, checkpoint, 4).crawl(REGIONS, QUEUE).isEmpty());
+        assertEquals(List.of(GOLD + ":2"), written);
+        assertEquals(1, requests.get("CHALLENGER"));
+        assertEquals(1, requests.get("DIAMOND:IV:1"));
+        assertEquals(1, requests.get("GOLD:I:1"));
+    }
+
+    @Test
+    void resumesAfterAFailedRegion() throws InterruptedException {
+        failingPage = "GOLD:I:2";
+        LeagueCrawler crawler = new LeagueCrawler(riotAPI, this::write, checkpoint, 4);
+        Map<Region, Exception> errors = crawler.crawl(REGIONS, QUEUE);
+        assertEquals(500, assertInstanceOf(RiotException.class, errors.get(Region.EUW1)).getStatusCode());
+        assertEquals(1, checkpoint.getCompletedPage(key(Tier.GOLD, "I")));
+
+        // The failed page is fetched again
+        failingPage = null;
+        written.clear();
+        assertTrue(crawler.crawl(REGIONS, QUEUE).isEmpty());
+        assertEquals(List.of(GOLD + ":2"), written);
+        assertEquals(2, requests.get("GOLD:I:2"));
+    }
+
+    @Test
+    void stopsFetchingWhileTheSinkFallsBehind() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        LeagueCrawler crawler = new LeagueCrawler(riotAPI, page -> {
+            release.await();
+            write(page);
+        }, checkpoint, 1);
+        CompletableFuture<Map<Region, Exception>> crawl = CompletableFuture.supplyAsync(() -> {
+            try {
+                return crawler.crawl(REGIONS, QUEUE);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // One page is written, one is queued and one waits for the queue
+        Thread.sleep(300);
+        assertTrue(transport.getSent() <= 3, "Sent " + transport.getSent() + " requests while the sink was blocked");
+        release.countDown();
+        assertTrue(crawl.join().isEmpty());
+        assertEquals(3, written.size());
+    }
+
+    /**
+     * Records a written page as its ladder and number.
+     *
+     * @param page the page
+     */
+    private void write(LeagueCrawler.Page page) {
+        written.add(page.getRegion() + ":" + page.getTier() + ":" + page.getDivision() + ":" + page.getNumber());
+    }
+
+    /**
+     * Returns the checkpoint key of a ladder of the crawled region and queue.
+     *
+     * @param tier     the tier
+     * @param division the division
+     * @return the checkpoint key
+     */
+    private static String key(Tier tier, String division) {
+        return LeagueCrawler.key(Region.EUW1, QUEUE, tier, division);
+    }
+
+    /**
+     * Answers a league request from the test ladder, counting the requests per page.
+     *
+     * @param request the request
+     * @return the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> answer(HttpRequest request) {
+        String path = request.uri().getPath();
+        String[] segments = path.split("/");
+
+        // Apex tiers
+        if (path.contains("leagues/by-queue/")) {
+            String tier = segments[4].replace("leagues", "").toUpperCase();
+            requests.merge(tier, 1, Integer::sum);
+            String entries = tier.equals("CHALLENGER") ? "{\"summonerId\":\"summoner-1\",\"rank\":\"I\"},{\"summonerId\":\"summoner-2\",\"rank\":\"I\"}" : "";
+            return StubResponse.ok(request, "{\"tier\":\"" + tier + "\",\"queue\":\"" + QUEUE.getIdentifier() + "\",\"entries\":[" + entries + "]}", "X-App-Rate-Limit", "1000:1");
+        }
+
+        // Paged divisions
+        int page = Integer.parseInt(request.uri().getQuery().substring("page=".length()));
+        String ladder = segments[6] + ":" + segments[7] + ":" + page;
+        requests.merge(ladder, 1, Integer::sum);
+        if (ladder.equals(failingPage)) return StubResponse.status(request, 500);
+        String entries = ladder.startsWith("GOLD:I:") && page <= 2 ? "[{\"summonerId\":\"summoner-" + page + "\",\"tier\":\"GOLD\",\"rank\":\"I\"}]" : "[]";
+        return StubResponse.ok(request, entries, "X-App-Rate-Limit", "1000:1");
+    }
+}
@@ -0,0 +1,93 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.objects.Entry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how a RiotAPI reads the league entries of a player and the league lists of the apex tiers.
+ */
+class LeagueParsingTest {
+
+    // Constants
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    void readsEntries() throws IOException {
+        List<Entry> entries = read("""
+                [
+                  {"leagueId":"league-1","queueType":"RANKED_SOLO_5x5","tier":"GOLD","rank":"II","summonerId":"summoner-1","leaguePoints":100,"wins":20,"losses":18,
+                   "miniSeries":{"losses":0,"progress":"WNN","target":2,"wins":1},"veteran":false,"inactive":false,"freshBlood":false,"hotStreak":true},
+                  {"leagueId":"league-2","queueType":"RANKED_FLEX_SR","tier":"SILVER","rank":"I","summonerId":"summoner-1","leaguePoints":12,"wins":5,"losses":3}
+                ]
+                """, false);
+        assertEquals(2, entries.size());
+        assertEquals("RANKED_SOLO_5x5", entries.get(0).getQueueType());
+        assertEquals(100, entries.get(0).getLeaguePoints());
+        assertTrue(entries.get(0).isHotStreak());
+        assertEquals("RANKED_FLEX_SR", entries.get(1).getQueueType());
+        assertEquals("SILVER", entries.get(1).getTier());
+        assertEquals(3, entries.get(1).getLosses());
+    }
+
+    @Test
+    void readsNoEntriesOfUnrankedPlayers() throws IOException {
+        assertTrue(read("[]", false).isEmpty());
+    }
+
+    @Test
+    void completesTheEntriesOfALeagueList() throws IOException {
+        List<Entry> entries = read("""
+                {"tier":"CHALLENGER","leagueId":"league-apex","entries":[
+                  {"summonerId":"summoner-1","leaguePoints":1500,"rank":"I","wins":300,"losses":200,"veteran":true,"inactive":false,"freshBlood":false,"hotStreak":false},
+                  {"summonerId":"summoner-2","leaguePoints":1400,"rank":"I","wins":250,"losses":190,"miniSeries":{"target":3}}
+                ],"queue":"RANKED_SOLO_5x5","name":"Lissandra's Shadows"}
+                """, true);
+        assertEquals(2, entries.size());
+        for (Entry entry : entries) {
+            assertEquals("league-apex", entry.getLeagueId());
+            assertEquals("RANKED_SOLO_5x5", entry.getQueueType());
+            assertEquals("CHALLENGER", entry.getTier());
+            assertEquals("I", entry.getRank());
+        }
+        assertEquals("summoner-1", entries.get(0).getSummonerId());
+        assertTrue(entries.get(0).isVeteran());
+        assertEquals(1400, entries.get(1).getLeaguePoints());
+    }
+
+    @Test
+    void readsAnEmptyLeagueList() throws IOException {
+        assertTrue(read("{\"tier\":\"MASTER\",\"queue\":\"RANKED_FLEX_SR\"}", true).isEmpty());
+    }
+
+    @Test
+    void rejectsMismatchedDocuments() {
+        assertThrows(IOException.class, () -> read("{\"entries\":[]}", false));
+        assertThrows(IOException.class, () -> read("[]", true));
+    }
+
+    /**
+     * Reads a JSON document of entries.
+     *
+     * @param json       the JSON document
+     * @param leagueList whether the document is a league list instead of an array of entries
+     * @return the entries
+     * @throws IOException if the JSON is malformed
+     */
+    private static List<Entry> read(String json, boolean leagueList) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parser.nextToken();
+            return leagueList ? RiotAPI.readLeagueList(parser) : RiotAPI.readEntries(parser);
+        }
+    }
+}
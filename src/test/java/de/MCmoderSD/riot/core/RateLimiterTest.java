@@ -0,0 +1,110 @@
+package de.MCmoderSD.riot.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the header-driven pacing of {@link RateLimiter}.
+ * The windows are long enough that none of them expires while a test runs.
+ */
+class RateLimiterTest {
+
+    // Constants
+    private static final String HOST = "euw1";
+    private static final String METHOD = "/lol/summoner/v4/summoners/by-puuid/";
+    private static final String OTHER_METHOD = "/lol/league/v4/entries/by-summoner/";
+
+    @Test
+    void reservesUpToTheAppLimit() {
+        RateLimiter rateLimiter = new RateLimiter("3:100");
+        for (int i = 0; i < 3; i++) assertEquals(0, rateLimiter.reserve(HOST, METHOD));
+        assertWait(rateLimiter.reserve(HOST, OTHER_METHOD), 100_000);
+    }
+
+    @Test
+    void rejectedReservationsDoNotCount() {
+        RateLimiter rateLimiter = new RateLimiter("1:100,3:200");
+        assertEquals(0, rateLimiter.reserve(HOST, METHOD));
+        for (int i = 0; i < 5; i++) assertWait(rateLimiter.reserve(HOST, METHOD), 100_000);
+        rateLimiter.update(HOST, METHOD, 200, headers("X-App-Rate-Limit", "2:100,3:200"));
+        assertEquals(0, rateLimiter.reserve(HOST, METHOD));
+        assertWait(rateLimiter.reserve(HOST, METHOD), 100_000);
+    }
+
+    @Test
+    void keepsHostsApart() {
+        RateLimiter rateLimiter = new RateLimiter("1:100");
+        assertEquals(0, rateLimiter.reserve(HOST, METHOD));
+        assertEquals(0, rateLimiter.reserve("na1", METHOD));
+        assertWait(rateLimiter.reserve(HOST, METHOD), 100_000);
+    }
+
+    @Test
+    void appliesMethodLimitsPerMethod() {
+        RateLimiter rateLimiter = new RateLimiter("100:100");
+        rateLimiter.update(HOST, METHOD, 200, headers("X-Method-Rate-Limit", "2:50"));
+        for (int i = 0; i < 2; i++) assertEquals(0, rateLimiter.reserve(HOST, METHOD));
+        assertWait(rateLimiter.reserve(HOST, METHOD), 50_000);
+        assertEquals(0, rateLimiter.reserve(HOST, OTHER_METHOD));
+    }
+
+    @Test
+    void syncsCountsFromTheServer() {
+        RateLimiter rateLimiter = new RateLimiter("5:100");
+        assertEquals(0, rateLimiter.reserve(HOST, METHOD));
+        rateLimiter.update(HOST, METHOD, 200, headers("X-App-Rate-Limit", "5:100", "X-App-Rate-Limit-Count", "5:100"));
+        assertWait(rateLimiter.reserve(HOST, METHOD), 100_000);
+    }
+
+    @Test
+    void blocksTheApplicationOnAppRateLimit() {
+        RateLimiter rateLimiter = new RateLimiter("100:100");
+        rateLimiter.update(HOST, METHOD, 429, headers("Retry-After", "7", "X-Rate-Limit-Type", "application"));
+        assertWait(rateLimiter.reserve(HOST, METHOD), 7000);
+        assertWait(rateLimiter.reserve(HOST, OTHER_METHOD), 7000);
+    }
+
+    @Test
+    void blocksOnlyTheMethodOnMethodRateLimit() {
+        RateLimiter rateLimiter = new RateLimiter("100:100");
+        rateLimiter.update(HOST, METHOD, 429, headers("Retry-After", "7", "X-Rate-Limit-Type", "method"));
+        assertWait(rateLimiter.reserve(HOST, METHOD), 7000);
+        assertEquals(0, rateLimiter.reserve(HOST, OTHER_METHOD));
+    }
+
+    @Test
+    void parsesRetryAfter() {
+        assertEquals(3000, RateLimiter.parseRetryAfter(" 3 "));
+        assertEquals(0, RateLimiter.parseRetryAfter("-5"));
+        assertEquals(1000, RateLimiter.parseRetryAfter("soon"));
+    }
+
+    /**
+     * Asserts that a reservation was rejected with a wait of at most the given time.
+     *
+     * @param wait    the result of the reservation
+     * @param maximum the maximum wait in milliseconds
+     */
+    private static void assertWait(long wait, long maximum) {
+        assertTrue(wait > 0 && wait <= maximum, "Expected a wait up to " + maximum + " ms, got " + wait);
+    }
+
+    /**
+     * Builds response headers from name and value pairs.
+     *
+     * @param pairs the names and values
+     * @return the headers
+     */
+    private static HttpHeaders headers(String... pairs) {
+        HashMap<String, List<String>> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) map.put(pairs[i], List.of(pairs[i + 1]));
+        return HttpHeaders.of(Map.copyOf(map), (name, value) -> true);
+    }
+}
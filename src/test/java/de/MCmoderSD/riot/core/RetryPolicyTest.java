@@ -0,0 +1,108 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.metrics.LatencyHistogram;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the backoff, hedging and classification rules of {@link RetryPolicy}.
+ */
+class RetryPolicyTest {
+
+    @Test
+    void doublesTheBackoffUpToTheMaximum() {
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), Duration.ofMillis(2000), Duration.ZERO);
+        long[] caps = {100, 200, 400, 800, 1600, 2000, 2000};
+        for (int retry = 0; retry < caps.length; retry++) {
+            for (int sample = 0; sample < 100; sample++) {
+                long backoff = policy.getBackoff(retry);
+                assertTrue(backoff >= caps[retry] / 2 && backoff <= caps[retry], "Backoff " + backoff + " for retry " + retry);
+            }
+        }
+    }
+
+    @Test
+    void doesNotOverflowForLateRetries() {
+        RetryPolicy policy = new RetryPolicy(100, Duration.ofMillis(100), Duration.ofMillis(2000), Duration.ZERO);
+        for (int retry = 30; retry < 100; retry++) {
+            long backoff = policy.getBackoff(retry);
+            assertTrue(backoff >= 1000 && backoff <= 2000, "Backoff " + backoff + " for retry " + retry);
+        }
+    }
+
+    @Test
+    void hasNoBackoffWithoutBaseDelay() {
+        assertEquals(0, RetryPolicy.NONE.getBackoff(0));
+        assertEquals(0, RetryPolicy.NONE.getBackoff(5));
+    }
+
+    @Test
+    void hedgesOnlyWithEnoughSamples() {
+        RetryPolicy policy = RetryPolicy.DEFAULT.withHedging(95, Duration.ofMillis(5));
+        LatencyHistogram latencies = new LatencyHistogram();
+        assertEquals(-1, RetryPolicy.DEFAULT.getHedgeDelay(latencies));
+        assertEquals(-1, policy.getHedgeDelay(null));
+        for (int i = 0; i < RetryPolicy.MIN_HEDGE_SAMPLES - 1; i++) latencies.record(TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(-1, policy.getHedgeDelay(latencies));
+        latencies.record(TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(latencies.getPercentile(95)), policy.getHedgeDelay(latencies));
+    }
+
+    @Test
+    void hedgesNoEarlierThanTheMinimumDelay() {
+        RetryPolicy policy = RetryPolicy.DEFAULT.withHedging(95, Duration.ofMillis(50));
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < RetryPolicy.MIN_HEDGE_SAMPLES; i++) latencies.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), policy.getHedgeDelay(latencies));
+    }
+
+    @Test
+    void keepsTheSettingsWhenHedging() {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(10), Duration.ofMillis(20), Duration.ofSeconds(1)).withHedging(90, Duration.ofMillis(5));
+        assertEquals(3, policy.getMaxRetries());
+        assertEquals(Duration.ofMillis(10), policy.getBaseDelay());
+        assertEquals(Duration.ofMillis(20), policy.getMaxDelay());
+        assertEquals(Duration.ofSeconds(1), policy.getDeadline());
+        assertEquals(90, policy.getHedgePercentile());
+        assertEquals(Duration.ofMillis(5), policy.getMinHedgeDelay());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(-1, Duration.ZERO, Duration.ZERO, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1, Duration.ofMillis(10), Duration.ofMillis(5), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.DEFAULT.withHedging(0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.DEFAULT.withHedging(100, Duration.ZERO));
+    }
+
+    @Test
+    void classifiesStatusCodes() {
+        assertTrue(RetryPolicy.isTransient(429));
+        assertTrue(RetryPolicy.isTransient(500));
+        assertTrue(RetryPolicy.isTransient(503));
+        assertFalse(RetryPolicy.isTransient(200));
+        assertFalse(RetryPolicy.isTransient(404));
+    }
+
+    @Test
+    void classifiesFailures() {
+        assertTrue(RetryPolicy.isTransient(new IOException("reset")));
+        assertTrue(RetryPolicy.isTransient(new HttpTimeoutException("timeout")));
+        assertTrue(RetryPolicy.isTransient(new CompletionException(new TimeoutException())));
+        assertFalse(RetryPolicy.isTransient(new RiotException("shed", RiotException.SERVICE_UNAVAILABLE)));
+        assertFalse(RetryPolicy.isTransient(new CompletionException(new IllegalStateException())));
+    }
+}
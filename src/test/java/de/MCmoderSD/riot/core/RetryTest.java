@@ -0,0 +1,114 @@
+package de.MCmoderSD.riot.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how a RiotAPI repeats failed requests within the retry count and the deadline of its {@link RetryPolicy}.
+ * The backoff is one millisecond, so the deadline only matters through the {@code Retry-After} header.
+ */
+class RetryTest {
+
+    // Constants
+    private static final String PUUID = "puuid-1";
+
+    // Associations
+    private StubTransport transport;
+    private RiotAPI riotAPI;
+
+    // Attributes
+    private volatile int statusCode;
+    private volatile String retryAfter;
+
+    @BeforeEach
+    void setUp() {
+        transport = new StubTransport(this::answer);
+        riotAPI = transport.builder().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        riotAPI.close();
+    }
+
+    @Test
+    void retriesServerErrorsUpToTheLimit() {
+        statusCode = 500;
+        riotAPI.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(10)));
+        assertEquals(500, assertInstanceOf(RiotException.class, failure()).getStatusCode());
+        assertEquals(3, transport.getSent());
+    }
+
+    @Test
+    void retriesIoErrorsUpToTheLimit() {
+        statusCode = -1;
+        riotAPI.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(10)));
+        assertInstanceOf(IOException.class, failure());
+        assertEquals(3, transport.getSent());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        statusCode = 404;
+        riotAPI.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(10)));
+        assertTrue(assertInstanceOf(RiotException.class, failure()).isNotFound());
+        assertEquals(1, transport.getSent());
+    }
+
+    @Test
+    void givesUpIfTheRetryAfterPassesTheDeadline() {
+        statusCode = 503;
+        retryAfter = "1";
+        riotAPI.setRetryPolicy(new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofMillis(500)));
+        long start = System.nanoTime();
+        assertEquals(503, assertInstanceOf(RiotException.class, failure()).getStatusCode());
+        assertEquals(1, transport.getSent());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void waitsForTheRetryAfterWithinTheDeadline() {
+        statusCode = 503;
+        retryAfter = "1";
+        riotAPI.setRetryPolicy(new RetryPolicy(1, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(10)));
+        long start = System.nanoTime();
+        assertEquals(503, assertInstanceOf(RiotException.class, failure()).getStatusCode());
+        assertEquals(2, transport.getSent());
+        assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Looks up an account and waits for the lookup to fail.
+     *
+     * @return the cause of the failure
+     */
+    private Throwable failure() {
+        CompletableFuture<?> future = riotAPI.getAccountByPuuidAsync(PUUID);
+        return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+    }
+
+    /**
+     * Answers a request with the configured status code, or fails it with an I/O error for -1.
+     *
+     * @param request the request
+     * @return the response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> answer(HttpRequest request) {
+        if (statusCode < 0) return CompletableFuture.failedFuture(new IOException("Connection reset"));
+        return retryAfter == null ? StubResponse.status(request, statusCode) : StubResponse.status(request, statusCode, "Retry-After", retryAfter);
+    }
+}
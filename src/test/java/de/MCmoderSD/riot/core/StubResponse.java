@@ -0,0 +1,117 @@
+package de.MCmoderSD.riot.core;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A completed response of a {@link StubTransport}.
+ */
+class StubResponse implements HttpResponse<byte[]> {
+
+    // Attributes
+    private final HttpRequest request;
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    /**
+     * Constructs a StubResponse.
+     *
+     * @param request    the request
+     * @param statusCode the status code
+     * @param headers    the headers
+     * @param body       the body
+     */
+    private StubResponse(HttpRequest request, int statusCode, HttpHeaders headers, byte[] body) {
+        this.request = request;
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Answers a request with a JSON body.
+     *
+     * @param request the request
+     * @param json    the JSON body
+     * @param pairs   the names and values of the headers
+     * @return a completed future of the response
+     */
+    static CompletableFuture<HttpResponse<byte[]>> ok(HttpRequest request, String json, String... pairs) {
+        return CompletableFuture.completedFuture(new StubResponse(request, 200, headersOf(pairs), json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Answers a request with a status code and an empty body.
+     *
+     * @param request    the request
+     * @param statusCode the status code
+     * @param pairs      the names and values of the headers
+     * @return a completed future of the response
+     */
+    static CompletableFuture<HttpResponse<byte[]>> status(HttpRequest request, int statusCode, String... pairs) {
+        return CompletableFuture.completedFuture(new StubResponse(request, statusCode, headersOf(pairs), new byte[0]));
+    }
+
+    /**
+     * Builds response headers from name and value pairs.
+     *
+     * @param pairs the names and values
+     * @return the headers
+     */
+    private static HttpHeaders headersOf(String... pairs) {
+        HashMap<String, List<String>> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) map.put(pairs[i], List.of(pairs[i + 1]));
+        return HttpHeaders.of(Map.copyOf(map), (name, value) -> true);
+    }
+
+    @Override
+    public int statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public HttpRequest request() {
+        return request;
+    }
+
+    @Override
+    public Optional<HttpResponse<byte[]>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    @Override
+    public byte[] body() {
+        return body;
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return request.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+        return HttpClient.Version.HTTP_1_1;
+    }
+}
@@ -0,0 +1,62 @@
+package de.MCmoderSD.riot.core;
+
+import de.MCmoderSD.riot.database.OfflineDatabase;
+import de.MCmoderSD.riot.enums.Cluster;
+import de.MCmoderSD.riot.metrics.Metrics;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A transport answering every request through a handler of the test, counting the sent requests.
+ */
+class StubTransport implements Transport {
+
+    // Attributes
+    private final Function<HttpRequest, CompletableFuture<HttpResponse<byte[]>>> handler;
+    private final AtomicInteger sent;
+
+    /**
+     * Constructs a StubTransport.
+     *
+     * @param handler the handler answering the requests
+     */
+    StubTransport(Function<HttpRequest, CompletableFuture<HttpResponse<byte[]>>> handler) {
+        this.handler = handler;
+        this.sent = new AtomicInteger();
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        sent.incrementAndGet();
+        return handler.apply(request);
+    }
+
+    /**
+     * Returns the number of sent requests.
+     *
+     * @return the number of sent requests
+     */
+    int getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Returns a builder for a RiotAPI sending through this transport.
+     * Metrics and circuit breakers are disabled, and the database is never connected.
+     *
+     * @return the builder
+     */
+    RiotAPI.Builder builder() {
+        return RiotAPI.builder()
+                .apiKey("RGAPI-test")
+                .cluster(Cluster.EUROPE)
+                .sql(OfflineDatabase.create())
+                .transport(this)
+                .metrics(Metrics.NOOP)
+                .circuitBreakerPolicy(CircuitBreakerPolicy.DISABLED);
+    }
+}
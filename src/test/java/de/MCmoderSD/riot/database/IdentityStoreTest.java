@@ -0,0 +1,203 @@
+package de.MCmoderSD.riot.database;
+
+import de.MCmoderSD.riot.objects.Account;
+import de.MCmoderSD.riot.objects.Summoner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the lookups, the Riot ID index and the eviction of {@link IdentityStore}.
+ */
+class IdentityStoreTest {
+
+    // Constants
+    private static final Instant FETCHED = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void roundsTheCapacity() {
+        assertEquals(8, new IdentityStore(1).getCapacity());
+        assertEquals(128, new IdentityStore(100).getCapacity());
+        assertEquals(128, new IdentityStore(128).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new IdentityStore(0));
+        assertThrows(IllegalArgumentException.class, () -> new IdentityStore(IdentityStore.MAX_CAPACITY + 1));
+    }
+
+    @Test
+    void servesStoredPlayers() {
+        IdentityStore store = new IdentityStore(64);
+        assertTrue(store.put(account(1, "Player", "EUW"), FETCHED));
+        assertTrue(store.put(summoner(1), FETCHED.plusSeconds(60)));
+
+        // By PUUID
+        Stored<Summoner> byPuuid = store.getSummoner(puuid(1));
+        assertNotNull(byPuuid);
+        assertEquals("summoner-1", byPuuid.getValue().getSummonerId());
+        assertEquals(101, byPuuid.getValue().getProfileIconId());
+        assertEquals(FETCHED.plusSeconds(60), byPuuid.getLastFetched());
+
+        // By Riot ID, case-insensitively and as old as the older half
+        Stored<Summoner> byRiotId = store.getSummoner("pLAYER", "euw");
+        assertNotNull(byRiotId);
+        assertEquals(puuid(1), byRiotId.getValue().getPuuid());
+        assertEquals(FETCHED, byRiotId.getLastFetched());
+        Stored<Account> account = store.getAccount("PLAYER", "EUW");
+        assertNotNull(account);
+        assertEquals("Player", account.getValue().getGameName());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void missesHalfStoredPlayers() {
+        IdentityStore store = new IdentityStore(64);
+        store.put(summoner(1), FETCHED);
+        store.put(account(2, "Other", "EUW"), FETCHED);
+        assertNull(store.getAccount("Player", "EUW"));
+        assertNull(store.getSummoner("Other", "EUW"));
+        assertNotNull(store.getAccount("Other", "EUW"));
+        assertNull(store.getSummoner(puuid(2)));
+    }
+
+    @Test
+    void keepsTheNewerFetch() {
+        IdentityStore store = new IdentityStore(64);
+        store.put(summoner(1, 7), FETCHED);
+        store.put(summoner(1, 3), FETCHED.minusSeconds(1));
+        assertEquals(7, store.getSummoner(puuid(1)).getValue().getSummonerLevel());
+    }
+
+    @Test
+    void forgetsTheOldRiotIdAfterARename() {
+        IdentityStore store = new IdentityStore(64);
+        store.put(account(1, "Before", "EUW"), FETCHED);
+        store.put(summoner(1), FETCHED);
+        store.put(account(1, "After", "EUW"), FETCHED.plusSeconds(1));
+        assertNull(store.getAccount("Before", "EUW"));
+        assertNull(store.getSummoner("Before", "EUW"));
+        assertEquals(puuid(1), store.getSummoner("After", "EUW").getValue().getPuuid());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void followsARiotIdToItsNewOwner() {
+        IdentityStore store = new IdentityStore(64);
+        store.put(account(1, "Taken", "EUW"), FETCHED);
+        store.put(account(2, "Taken", "EUW"), FETCHED.plusSeconds(1));
+        assertEquals(puuid(2), store.getAccount("Taken", "EUW").getValue().getPUUID());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedSlotOfAFullSet() throws InterruptedException {
+
+        // A capacity of eight is a single set
+        IdentityStore store = new IdentityStore(8);
+        for (int i = 0; i < 8; i++) {
+            store.put(account(i, "Player" + i, "EUW"), FETCHED);
+            store.put(summoner(i), FETCHED);
+            Thread.sleep(3);
+        }
+        assertNotNull(store.getSummoner(puuid(0)));
+        Thread.sleep(3);
+
+        // The first player was used last, the second one is evicted
+        store.put(account(8, "Player8", "EUW"), FETCHED);
+        assertEquals(8, store.size());
+        assertNotNull(store.getSummoner(puuid(0)));
+        assertNull(store.getSummoner(puuid(1)));
+        assertNull(store.getAccount("Player1", "EUW"));
+        assertEquals(puuid(8), store.getAccount("Player8", "EUW").getValue().getPUUID());
+    }
+
+    @Test
+    void missesTheRiotIdOfAnEvictedSlot() {
+        IdentityStore store = new IdentityStore(8);
+        for (int i = 0; i < 64; i++) store.put(account(i, "Player" + i, "EUW"), FETCHED);
+        assertEquals(8, store.size());
+
+        // Every Riot ID that still resolves belongs to a stored player
+        int resolved = 0;
+        for (int i = 0; i < 64; i++) {
+            Stored<Account> account = store.getAccount("Player" + i, "EUW");
+            if (account == null) continue;
+            assertEquals(puuid(i), account.getValue().getPUUID());
+            resolved++;
+        }
+        assertTrue(resolved <= 8);
+    }
+
+    @Test
+    void rejectsOversizedValues() {
+        IdentityStore store = new IdentityStore(64);
+        assertFalse(store.put(account(1, "x".repeat(65), "EUW"), FETCHED));
+        assertFalse(store.put(new Account("pü", "Player", "EUW"), FETCHED));
+        assertFalse(store.put(new Summoner("s".repeat(64), "account", puuid(1), 1, 1), FETCHED));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void invalidatesAndClears() {
+        IdentityStore store = new IdentityStore(64);
+        for (int i = 0; i < 3; i++) {
+            store.put(account(i, "Player" + i, "EUW"), FETCHED);
+            store.put(summoner(i), FETCHED);
+        }
+        store.invalidate(puuid(0));
+        assertEquals(2, store.size());
+        assertNull(store.getSummoner(puuid(0)));
+        assertNull(store.getAccount("Player0", "EUW"));
+        store.clear();
+        assertEquals(0, store.size());
+        assertNull(store.getSummoner("Player1", "EUW"));
+    }
+
+    /**
+     * Returns the PUUID of a test player.
+     *
+     * @param id the number of the player
+     * @return the PUUID
+     */
+    private static String puuid(int id) {
+        return "puuid-" + id;
+    }
+
+    /**
+     * Creates the account of a test player.
+     *
+     * @param id       the number of the player
+     * @param gameName the game name
+     * @param tagLine  the tag line
+     * @return the account
+     */
+    private static Account account(int id, String gameName, String tagLine) {
+        return new Account(puuid(id), gameName, tagLine);
+    }
+
+    /**
+     * Creates the summoner of a test player.
+     *
+     * @param id the number of the player
+     * @return the summoner
+     */
+    private static Summoner summoner(int id) {
+        return summoner(id, 30);
+    }
+
+    /**
+     * Creates the summoner of a test player with the given level.
+     *
+     * @param id    the number of the player
+     * @param level the summoner level
+     * @return the summoner
+     */
+    private static Summoner summoner(int id, int level) {
+        return new Summoner("summoner-" + id, "account-" + id, puuid(id), 100 + id, level);
+    }
+}
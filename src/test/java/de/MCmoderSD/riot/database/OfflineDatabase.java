@@ -0,0 +1,21 @@
+package de.MCmoderSD.riot.database;
+
+import de.MCmoderSD.sql.Driver;
+
+import java.time.Duration;
+
+/**
+ * Creates database handlers for tests whose calls never reach the database.
+ */
+public class OfflineDatabase {
+
+    /**
+     * Creates a database handler that neither connects nor creates its tables.
+     * Its pool stays empty as long as no query is run, so it does not need to be closed.
+     *
+     * @return the database handler
+     */
+    public static SQL create() {
+        return new SQL(Driver.DatabaseType.MARIADB, "127.0.0.1", 9, "riot", "riot", "riot", 1, Duration.ofMillis(1), false);
+    }
+}
@@ -0,0 +1,104 @@
+package de.MCmoderSD.riot.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the bucket bounds and summary values of {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    // Constants
+    private static final long MICROS = 1000;
+
+    @Test
+    void isEmptyInitially() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    void recordsMicroseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_500);
+        histogram.record(2_500);
+        histogram.record(-1);
+        assertEquals(3, histogram.getCount());
+        assertEquals(1, histogram.getMean());
+        assertEquals(2, histogram.getMax());
+    }
+
+    @Test
+    void givesSmallValuesTheirOwnBucket() {
+        for (long micros = 0; micros < 8; micros++) assertEquals(micros, bound(micros));
+    }
+
+    @Test
+    void boundsKnownBuckets() {
+        assertEquals(8, bound(8));
+        assertEquals(15, bound(15));
+        assertEquals(17, bound(16));
+        assertEquals(17, bound(17));
+        assertEquals(19, bound(18));
+        assertEquals(1023, bound(1000));
+        assertEquals(1023, bound(1023));
+        assertEquals(1151, bound(1024));
+    }
+
+    @Test
+    void boundsStayWithinAnEighth() {
+        for (int exponent = 3; exponent < 40; exponent++) {
+            for (long micros : new long[] {(1L << exponent) - 1, 1L << exponent, (1L << exponent) + 1, (1L << exponent) * 3 / 2}) {
+                long bound = bound(micros);
+                assertTrue(bound >= micros && bound <= micros + micros / 8, "Bound " + bound + " for " + micros);
+
+                // The bound is the last value of its bucket
+                assertEquals(bound, bound(bound));
+                assertTrue(bound(bound + 1) > bound);
+            }
+        }
+    }
+
+    @Test
+    void capsPercentilesAtTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000 * MICROS);
+        assertEquals(1000, histogram.getPercentile(50));
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void findsThePercentileRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) histogram.record(i * MICROS);
+        assertEquals(bound(50), histogram.getPercentile(50));
+        assertEquals(bound(95), histogram.getPercentile(95));
+        assertEquals(100, histogram.getPercentile(100));
+    }
+
+    @Test
+    void clampsHugeValuesIntoTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(1, histogram.getCount());
+        assertEquals(Long.MAX_VALUE / 1000, histogram.getPercentile(100));
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding a value, read through a percentile below a much larger value.
+     *
+     * @param micros the value in microseconds
+     * @return the upper bound of its bucket in microseconds
+     */
+    private static long bound(long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(micros * MICROS);
+        histogram.record((1L << 50) * MICROS);
+        return histogram.getPercentile(50);
+    }
+}
@@ -0,0 +1,114 @@
+package de.MCmoderSD.riot.objects;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the streaming constructors of {@link Account}, {@link Summoner} and {@link Entry}.
+ */
+class JsonParsingTest {
+
+    // Constants
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    void readsAnAccount() throws IOException {
+        try (JsonParser parser = parser("{\"puuid\":\"puuid-1\",\"gameName\":\"Spielername mit Ümlaut\",\"tagLine\":\"EUW\"}")) {
+            Account account = new Account(parser);
+            assertEquals("puuid-1", account.getPUUID());
+            assertEquals("Spielername mit Ümlaut", account.getGameName());
+            assertEquals("EUW", account.getTagLine());
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        }
+    }
+
+    @Test
+    void readsASummoner() throws IOException {
+        try (JsonParser parser = parser("{\"id\":\"summoner-1\",\"accountId\":\"account-1\",\"puuid\":\"puuid-1\",\"profileIconId\":4568,\"revisionDate\":1735689600000,\"summonerLevel\":412}")) {
+            Summoner summoner = new Summoner(parser);
+            assertEquals("summoner-1", summoner.getSummonerId());
+            assertEquals("account-1", summoner.getAccountId());
+            assertEquals("puuid-1", summoner.getPuuid());
+            assertEquals(4568, summoner.getProfileIconId());
+            assertEquals(412, summoner.getSummonerLevel());
+        }
+    }
+
+    @Test
+    void readsAnEntry() throws IOException {
+        try (JsonParser parser = parser("{\"leagueId\":\"league-1\",\"queueType\":\"RANKED_SOLO_5x5\",\"tier\":\"GOLD\",\"rank\":\"II\",\"summonerId\":\"summoner-1\",\"leaguePoints\":75,\"wins\":120,\"losses\":98,\"veteran\":true,\"inactive\":false,\"freshBlood\":true,\"hotStreak\":true}")) {
+            Entry entry = new Entry(parser);
+            assertEquals("league-1", entry.getLeagueId());
+            assertEquals("RANKED_SOLO_5x5", entry.getQueueType());
+            assertEquals("GOLD", entry.getTier());
+            assertEquals("II", entry.getRank());
+            assertEquals("summoner-1", entry.getSummonerId());
+            assertEquals(75, entry.getLeaguePoints());
+            assertEquals(120, entry.getWins());
+            assertEquals(98, entry.getLosses());
+            assertTrue(entry.isVeteran());
+            assertFalse(entry.isInactive());
+            assertTrue(entry.isFreshBlood());
+            assertTrue(entry.isHotStreak());
+        }
+    }
+
+    @Test
+    void skipsUnknownNestedFields() throws IOException {
+        try (JsonParser parser = parser("{\"tier\":\"GOLD\",\"miniSeries\":{\"losses\":1,\"progress\":\"WLN\",\"target\":3,\"wins\":1},\"wins\":10,\"badges\":[{\"losses\":7},[]],\"losses\":5}")) {
+            Entry entry = new Entry(parser);
+            assertEquals("GOLD", entry.getTier());
+            assertEquals(10, entry.getWins());
+            assertEquals(5, entry.getLosses());
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void leavesMissingFieldsEmpty() throws IOException {
+        try (JsonParser parser = parser("{\"puuid\":\"puuid-1\"}")) {
+            Account account = new Account(parser);
+            assertEquals("puuid-1", account.getPUUID());
+            assertNull(account.getGameName());
+            assertNull(account.getTagLine());
+        }
+    }
+
+    @Test
+    void rejectsOtherValues() throws IOException {
+        try (JsonParser parser = parser("[]")) {
+            assertThrows(IOException.class, () -> new Account(parser));
+        }
+        try (JsonParser parser = parser("\"summoner\"")) {
+            assertThrows(IOException.class, () -> new Summoner(parser));
+        }
+        try (JsonParser parser = parser("null")) {
+            assertThrows(IOException.class, () -> new Entry(parser));
+        }
+    }
+
+    /**
+     * Creates a parser positioned on the first token of a JSON document.
+     *
+     * @param json the JSON document
+     * @return the parser
+     * @throws IOException if the JSON cannot be read
+     */
+    private static JsonParser parser(String json) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(json);
+        parser.nextToken();
+        return parser;
+    }
+}
@@ -0,0 +1,82 @@
+package de.MCmoderSD.riot.simulator;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples the service time the simulator adds to a response.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Samples a latency.
+     *
+     * @param random the random generator of the calling thread
+     * @return the latency in nanoseconds
+     */
+    long sample(RandomGenerator random);
+
+    /**
+     * Returns a distribution without latency.
+     *
+     * @return the distribution
+     */
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    /**
+     * Returns a distribution that always yields the same latency.
+     *
+     * @param latency the latency
+     * @return the distribution
+     */
+    static LatencyDistribution constant(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * Returns a distribution that yields latencies uniformly between two bounds.
+     *
+     * @param min the lower bound, inclusive
+     * @param max the upper bound, exclusive
+     * @return the distribution
+     * @throws IllegalArgumentException if the upper bound is not greater than the lower bound
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long from = min.toNanos();
+        long to = max.toNanos();
+        if (to <= from) throw new IllegalArgumentException("Max must be greater than min");
+        return random -> random.nextLong(from, to);
+    }
+
+    /**
+     * Returns a log-normal distribution, which models the long right tail of real API latencies.
+     *
+     * @param median the median latency
+     * @param sigma  the standard deviation of the underlying normal distribution, 0.5 gives p99 at about 3x the median
+     * @return the distribution
+     * @throws IllegalArgumentException if sigma is negative
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        if (sigma < 0) throw new IllegalArgumentException("Sigma must not be negative");
+        long nanos = median.toNanos();
+        return random -> (long) (nanos * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Returns a distribution that adds a fixed spike to a share of the samples, e.g. to model GC pauses or retries upstream.
+     *
+     * @param probability the share of samples that get the spike, between 0 and 1
+     * @param spike       the latency added to those samples
+     * @return the distribution
+     * @throws IllegalArgumentException if the probability is not between 0 and 1
+     */
+    default LatencyDistribution withSpikes(double probability, Duration spike) {
+        if (probability < 0 || probability > 1) throw new IllegalArgumentException("Probability must be between 0 and 1");
+        long nanos = spike.toNanos();
+        return random -> sample(random) + (random.nextDouble() < probability ? nanos : 0);
+    }
+}
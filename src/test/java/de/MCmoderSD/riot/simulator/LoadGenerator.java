@@ -0,0 +1,243 @@
+package de.MCmoderSD.riot.simulator;
+
+import de.MCmoderSD.riot.core.RiotAPI;
+import de.MCmoderSD.riot.enums.Region;
+import de.MCmoderSD.riot.objects.RiotId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives concurrent virtual users through the RiotAPI and measures throughput and latency.
+ * Every user runs on its own virtual thread and picks a random player for each call.
+ */
+@SuppressWarnings("unused")
+public class LoadGenerator {
+
+    // Associations
+    private final RiotAPI riotAPI;
+
+    // Attributes
+    private final Region region;
+    private final RiotId[] players;
+
+    /**
+     * Constructs a LoadGenerator for the given players.
+     *
+     * @param riotAPI the RiotAPI to drive
+     * @param region  the region of the players
+     * @param players the players the users pick from
+     * @throws IllegalArgumentException if there are no players
+     */
+    public LoadGenerator(RiotAPI riotAPI, Region region, List<RiotId> players) {
+
+        // Check Parameters
+        if (riotAPI == null || region == null) throw new IllegalArgumentException("RiotAPI and Region must not be null");
+        if (players == null || players.isEmpty()) throw new IllegalArgumentException("Players must not be empty");
+
+        // Init Associations
+        this.riotAPI = riotAPI;
+
+        // Init Attributes
+        this.region = region;
+        this.players = players.toArray(new RiotId[0]);
+    }
+
+    /**
+     * Creates players with distinct Riot IDs that the simulator serves.
+     *
+     * @param count the number of players
+     * @return the Riot IDs of the players
+     */
+    public static List<RiotId> createPlayers(int count) {
+        ArrayList<RiotId> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) players.add(new RiotId("Player" + i, "SIM"));
+        return players;
+    }
+
+    /**
+     * Runs the users for the given duration and waits for them to finish.
+     *
+     * @param operation the call every user repeats
+     * @param users     the number of concurrent users
+     * @param duration  the duration of the run
+     * @return the report of the run
+     * @throws IllegalArgumentException if the number of users is not positive
+     * @throws InterruptedException     if interrupted while waiting for the users
+     */
+    public Report run(Operation operation, int users, Duration duration) throws InterruptedException {
+        if (users < 1) throw new IllegalArgumentException("Users must be at least 1");
+
+        // Start the users
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        Recorder[] recorders = new Recorder[users];
+        Thread[] threads = new Thread[users];
+        for (int i = 0; i < users; i++) {
+            Recorder recorder = recorders[i] = new Recorder();
+            threads[i] = Thread.ofVirtual().name("LoadGenerator-" + i).start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < deadline) {
+                    RiotId player = players[random.nextInt(players.length)];
+                    Object result = switch (operation) {
+                        case GET_RANK -> riotAPI.getRank(player.getGameName(), player.getTagLine(), region);
+                        case GET_ENTRY -> riotAPI.getEntry(player.getGameName(), player.getTagLine(), region);
+                    };
+                    recorder.record(System.nanoTime() - now, result == null);
+                }
+            });
+        }
+
+        // Wait for the users
+        for (Thread thread : threads) thread.join();
+        long elapsed = System.nanoTime() - start;
+
+        // Merge the samples
+        int count = 0;
+        long misses = 0;
+        for (Recorder recorder : recorders) {
+            count += recorder.size;
+            misses += recorder.misses;
+        }
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(latencies);
+
+        return new Report(operation, users, latencies, misses, elapsed);
+    }
+
+    /**
+     * The calls a user can repeat.
+     */
+    public enum Operation {
+
+        // Constants
+        GET_RANK,
+        GET_ENTRY
+    }
+
+    /**
+     * Collects the samples of one user without sharing state between users.
+     */
+    private static class Recorder {
+
+        // Attributes
+        private long[] latencies = new long[1024];
+        private int size;
+        private long misses;
+
+        /**
+         * Records a call.
+         *
+         * @param latency the latency in nanoseconds
+         * @param miss    whether the call returned null
+         */
+        private void record(long latency, boolean miss) {
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = latency;
+            if (miss) misses++;
+        }
+    }
+
+    /**
+     * The throughput and latency percentiles of a run.
+     */
+    public static class Report {
+
+        // Attributes
+        private final Operation operation;
+        private final int users;
+        private final long[] latencies;
+        private final long misses;
+        private final long elapsed;
+
+        /**
+         * Constructs a Report from the sorted latencies of a run.
+         *
+         * @param operation the call the users repeated
+         * @param users     the number of concurrent users
+         * @param latencies the sorted latencies in nanoseconds
+         * @param misses    the number of calls that returned null
+         * @param elapsed   the duration of the run in nanoseconds
+         */
+        private Report(Operation operation, int users, long[] latencies, long misses, long elapsed) {
+            this.operation = operation;
+            this.users = users;
+            this.latencies = latencies;
+            this.misses = misses;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Returns the number of completed calls.
+         *
+         * @return the number of calls
+         */
+        public int getCalls() {
+            return latencies.length;
+        }
+
+        /**
+         * Returns the number of calls that returned null.
+         * For getRank these are failures, for getEntry failures and unranked players.
+         *
+         * @return the number of misses
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Returns the completed calls per second.
+         *
+         * @return the throughput
+         */
+        public double getThroughput() {
+            return latencies.length / (elapsed / 1e9);
+        }
+
+        /**
+         * Returns a latency percentile using the nearest-rank method.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the latency, or {@link Duration#ZERO} if no call completed
+         */
+        public Duration getPercentile(double percentile) {
+            if (latencies.length == 0) return Duration.ZERO;
+            int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+            return Duration.ofNanos(latencies[Math.clamp(rank - 1, 0, latencies.length - 1)]);
+        }
+
+        /**
+         * Returns the report as a single line.
+         *
+         * @return the report
+         */
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s with %d users: %d calls, %d misses, %.1f calls/s, p50 %.2f ms, p99 %.2f ms, p999 %.2f ms, max %.2f ms",
+                    operation, users, getCalls(), misses, getThroughput(),
+                    millis(getPercentile(50)), millis(getPercentile(99)), millis(getPercentile(99.9)), millis(getPercentile(100))
+            );
+        }
+
+        /**
+         * Converts a duration to fractional milliseconds.
+         *
+         * @param duration the duration
+         * @return the milliseconds
+         */
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+}
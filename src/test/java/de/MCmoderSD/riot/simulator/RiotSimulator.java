@@ -0,0 +1,596 @@
+package de.MCmoderSD.riot.simulator;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.MCmoderSD.riot.objects.RiotId;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-process stand-in for the account-v1, summoner-v4 and league-v4 endpoints used by the RiotAPI.
+ * Every Riot ID exists and its summoner and entries are derived from its PUUID, so runs are repeatable.
+ * Latency, rate limits and server errors can be configured to load-test the client without a production key.
+ * Point a RiotAPI at {@link #getUrl()} with {@code setBaseUrl}.
+ */
+@SuppressWarnings("unused")
+public class RiotSimulator implements AutoCloseable {
+
+    // Constants
+    private static final String ACCOUNT_BY_RIOT_ID = "/riot/account/v1/accounts/by-riot-id/";
+    private static final String ACCOUNT_BY_PUUID = "/riot/account/v1/accounts/by-puuid/";
+    private static final String SUMMONER_BY_PUUID = "/lol/summoner/v4/summoners/by-puuid/";
+    private static final String ENTRIES_BY_SUMMONER = "/lol/league/v4/entries/by-summoner/";
+    private static final String LEAGUE_ENTRIES = "/lol/league/v4/entries/";
+    private static final String CHALLENGER_LEAGUE = "/lol/league/v4/challengerleagues/by-queue/";
+    private static final String GRANDMASTER_LEAGUE = "/lol/league/v4/grandmasterleagues/by-queue/";
+    private static final String MASTER_LEAGUE = "/lol/league/v4/masterleagues/by-queue/";
+    private static final String SUMMONER_PREFIX = "S-";
+    private static final String[] TIERS = {"IRON", "BRONZE", "SILVER", "GOLD", "PLATINUM", "EMERALD", "DIAMOND", "MASTER", "GRANDMASTER", "CHALLENGER"};
+    private static final String[] DIVISIONS = {"I", "II", "III", "IV"};
+    private static final int PAGE_SIZE = 205;
+    private static final int LADDER_PAGES = 3;
+    private static final int APEX_SIZE = 300;
+
+    // Attributes
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, RiotId> players;
+    private final ConcurrentHashMap<String, RateLimit> methodLimits;
+    private final LongAdder requests;
+    private final LongAdder rateLimited;
+    private final LongAdder injectedErrors;
+    private volatile LatencyDistribution latency;
+    private volatile double errorRate;
+    private volatile String appRateLimit;
+    private volatile String methodRateLimit;
+    private volatile RateLimit appLimit;
+
+    /**
+     * Starts a simulator on a free port of the loopback interface, without latency, rate limits or errors.
+     *
+     * @throws IOException if the server could not be bound
+     */
+    public RiotSimulator() throws IOException {
+
+        // Init Attributes
+        players = new ConcurrentHashMap<>();
+        methodLimits = new ConcurrentHashMap<>();
+        requests = new LongAdder();
+        rateLimited = new LongAdder();
+        injectedErrors = new LongAdder();
+        latency = LatencyDistribution.none();
+
+        // Start the server
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the simulator, which serves every region and cluster.
+     *
+     * @return the base URL without trailing slash
+     */
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Sets the service time added to every response, including rejected and failed ones.
+     *
+     * @param latency the latency distribution
+     * @throws IllegalArgumentException if the distribution is null
+     */
+    public void setLatency(LatencyDistribution latency) {
+        if (latency == null) throw new IllegalArgumentException("Latency must not be null");
+        this.latency = latency;
+    }
+
+    /**
+     * Sets the share of admitted requests that fail with a 503.
+     *
+     * @param errorRate the error rate, between 0 and 1
+     * @throws IllegalArgumentException if the error rate is not between 0 and 1
+     */
+    public void setErrorRate(double errorRate) {
+        if (errorRate < 0 || errorRate > 1) throw new IllegalArgumentException("Error rate must be between 0 and 1");
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Sets the application rate limit, which is shared by all endpoints.
+     *
+     * @param limits the limits in the header format, e.g. {@code 20:1,100:120}, or null to disable the limit
+     * @throws IllegalArgumentException if the limits are malformed
+     */
+    public void setAppRateLimit(String limits) {
+        appLimit = limits == null ? null : new RateLimit(limits);
+        appRateLimit = limits;
+    }
+
+    /**
+     * Sets the method rate limit, which every endpoint enforces on its own.
+     *
+     * @param limits the limits in the header format, e.g. {@code 2000:60}, or null to disable the limit
+     * @throws IllegalArgumentException if the limits are malformed
+     */
+    public void setMethodRateLimit(String limits) {
+        if (limits != null) new RateLimit(limits);
+        methodRateLimit = limits;
+        methodLimits.clear();
+    }
+
+    /**
+     * Returns the number of received requests.
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of requests rejected with a 429.
+     *
+     * @return the number of rate limited requests
+     */
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * Returns the number of requests failed on purpose with a 503.
+     *
+     * @return the number of injected errors
+     */
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    /**
+     * Stops the simulator.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    /**
+     * Answers a request: waits for the sampled latency, applies the rate limits and the error injection and serves the endpoint.
+     *
+     * @param exchange the exchange
+     * @throws IOException if the response could not be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            String path = exchange.getRequestURI().getRawPath();
+            String method = getMethod(path);
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", "application/json;charset=utf-8");
+            if (method == null) {
+                send(exchange, 404, status(404, "Not found"));
+                return;
+            }
+
+            // Simulate the service time
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long nanos = latency.sample(random);
+            if (nanos > 0) Thread.sleep(Duration.ofNanos(nanos));
+
+            // Apply the rate limits
+            long now = System.currentTimeMillis();
+            RateLimit app = appLimit;
+            RateLimit methodLimit = getMethodLimit(method);
+            long retryAfter = 0;
+            String limitType = null;
+            if (app != null && (retryAfter = app.acquire(now)) > 0) limitType = "application";
+            else if (methodLimit != null && (retryAfter = methodLimit.acquire(now)) > 0) limitType = "method";
+            if (app != null) {
+                headers.set("X-App-Rate-Limit", appRateLimit);
+                headers.set("X-App-Rate-Limit-Count", app.getCounts(now));
+            }
+            if (methodLimit != null) {
+                headers.set("X-Method-Rate-Limit", methodRateLimit);
+                headers.set("X-Method-Rate-Limit-Count", methodLimit.getCounts(now));
+            }
+            if (limitType != null) {
+                rateLimited.increment();
+                headers.set("X-Rate-Limit-Type", limitType);
+                headers.set("Retry-After", Long.toString((retryAfter + 999) / 1000));
+                send(exchange, 429, status(429, "Rate limit exceeded"));
+                return;
+            }
+
+            // Inject server errors
+            if (random.nextDouble() < errorRate) {
+                injectedErrors.increment();
+                send(exchange, 503, status(503, "Service unavailable"));
+                return;
+            }
+
+            // Serve the endpoint
+            String body = serve(path, exchange.getRequestURI().getRawQuery());
+            if (body == null) send(exchange, 404, status(404, "Data not found"));
+            else send(exchange, 200, body);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the endpoint a path belongs to, which is also its method rate limit key.
+     *
+     * @param path the raw path of the request
+     * @return the endpoint path, or null if the path is not served
+     */
+    private static String getMethod(String path) {
+        for (String method : new String[] {ACCOUNT_BY_RIOT_ID, ACCOUNT_BY_PUUID, SUMMONER_BY_PUUID, ENTRIES_BY_SUMMONER, CHALLENGER_LEAGUE, GRANDMASTER_LEAGUE, MASTER_LEAGUE, LEAGUE_ENTRIES}) {
+            if (path.startsWith(method)) return method;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the method rate limit of an endpoint, creating it on first use.
+     *
+     * @param method the endpoint path
+     * @return the method rate limit, or null if method rate limits are disabled
+     */
+    private RateLimit getMethodLimit(String method) {
+        String limits = methodRateLimit;
+        return limits == null ? null : methodLimits.computeIfAbsent(method, key -> new RateLimit(limits));
+    }
+
+    /**
+     * Builds the response body of an endpoint.
+     *
+     * @param path  the raw path of the request
+     * @param query the raw query of the request, or null
+     * @return the JSON body, or null if the requested object does not exist
+     */
+    private String serve(String path, String query) {
+
+        // Account by Riot ID
+        if (path.startsWith(ACCOUNT_BY_RIOT_ID)) {
+            String[] segments = path.substring(ACCOUNT_BY_RIOT_ID.length()).split("/");
+            if (segments.length != 2) return null;
+            RiotId riotId = new RiotId(decode(segments[0]), decode(segments[1]));
+            String puuid = getPuuid(riotId);
+            players.putIfAbsent(puuid, riotId);
+            return account(puuid, riotId);
+        }
+
+        // Account by PUUID
+        if (path.startsWith(ACCOUNT_BY_PUUID)) {
+            String puuid = decode(path.substring(ACCOUNT_BY_PUUID.length()));
+            RiotId riotId = players.get(puuid);
+            return riotId == null ? null : account(puuid, riotId);
+        }
+
+        // Summoner by PUUID
+        if (path.startsWith(SUMMONER_BY_PUUID)) {
+            String puuid = decode(path.substring(SUMMONER_BY_PUUID.length()));
+            return players.containsKey(puuid) ? summoner(puuid) : null;
+        }
+
+        // Entries by summoner
+        if (path.startsWith(ENTRIES_BY_SUMMONER)) {
+            String summonerId = decode(path.substring(ENTRIES_BY_SUMMONER.length()));
+            if (!summonerId.startsWith(SUMMONER_PREFIX) || !players.containsKey(summonerId.substring(SUMMONER_PREFIX.length()))) return null;
+            return entries(summonerId);
+        }
+
+        // Apex leagues
+        if (path.startsWith(CHALLENGER_LEAGUE)) return leagueList("CHALLENGER", decode(path.substring(CHALLENGER_LEAGUE.length())));
+        if (path.startsWith(GRANDMASTER_LEAGUE)) return leagueList("GRANDMASTER", decode(path.substring(GRANDMASTER_LEAGUE.length())));
+        if (path.startsWith(MASTER_LEAGUE)) return leagueList("MASTER", decode(path.substring(MASTER_LEAGUE.length())));
+
+        // Paged ladder
+        String[] segments = path.substring(LEAGUE_ENTRIES.length()).split("/");
+        if (segments.length != 3) return null;
+        int page = 1;
+        if (query != null && query.startsWith("page=")) {
+            try {
+                page = Integer.parseInt(query.substring("page=".length()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return ladderPage(decode(segments[0]), decode(segments[1]), decode(segments[2]), page);
+    }
+
+    /**
+     * Derives the PUUID of a Riot ID. Riot IDs are case-insensitive, so the PUUID is too.
+     *
+     * @param riotId the Riot ID
+     * @return the PUUID
+     */
+    private static String getPuuid(RiotId riotId) {
+        String key = riotId.getGameName().toLowerCase(Locale.ROOT) + "#" + riotId.getTagLine().toLowerCase(Locale.ROOT);
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Builds an account body.
+     *
+     * @param puuid  the PUUID
+     * @param riotId the Riot ID
+     * @return the JSON body
+     */
+    private static String account(String puuid, RiotId riotId) {
+        return "{\"puuid\":" + quote(puuid) + ",\"gameName\":" + quote(riotId.getGameName()) + ",\"tagLine\":" + quote(riotId.getTagLine()) + "}";
+    }
+
+    /**
+     * Builds a summoner body.
+     *
+     * @param puuid the PUUID
+     * @return the JSON body
+     */
+    private static String summoner(String puuid) {
+        int hash = puuid.hashCode() & Integer.MAX_VALUE;
+        return "{\"id\":" + quote(SUMMONER_PREFIX + puuid) + ",\"accountId\":" + quote("A-" + puuid) + ",\"puuid\":" + quote(puuid)
+                + ",\"profileIconId\":" + hash % 6000 + ",\"revisionDate\":1712345678000,\"summonerLevel\":" + (30 + hash % 700) + "}";
+    }
+
+    /**
+     * Builds the entries of a summoner: a tenth of the players is unranked, the others play Solo/Duo and half of them Flex.
+     *
+     * @param summonerId the summoner ID
+     * @return the JSON body
+     */
+    private static String entries(String summonerId) {
+        int hash = summonerId.hashCode() & Integer.MAX_VALUE;
+        if (hash % 10 == 0) return "[]";
+        StringBuilder json = new StringBuilder(512).append('[');
+        entry(json, summonerId, "RANKED_SOLO_5x5", TIERS[hash % TIERS.length], hash);
+        if (hash % 2 == 0) entry(json.append(','), summonerId, "RANKED_FLEX_SR", TIERS[(hash >>> 4) % TIERS.length], hash >>> 8);
+        return json.append(']').toString();
+    }
+
+    /**
+     * Builds one page of a division below the apex tiers. Every division has the same number of pages.
+     *
+     * @param queue    the queue type
+     * @param tier     the tier
+     * @param division the division
+     * @param page     the page, starting at 1
+     * @return the JSON body, or null if the tier or division does not exist
+     */
+    private static String ladderPage(String queue, String tier, String division, int page) {
+        int tierIndex = indexOf(TIERS, tier);
+        if (tierIndex < 0 || tierIndex > 6 || indexOf(DIVISIONS, division) < 0) return null;
+        if (page < 1 || page > LADDER_PAGES) return "[]";
+        StringBuilder json = new StringBuilder(PAGE_SIZE * 320).append('[');
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            if (i > 0) json.append(',');
+            String summonerId = SUMMONER_PREFIX + queue + "-" + tier + "-" + division + "-" + page + "-" + i;
+            json.append("{\"leagueId\":").append(quote(UUID.nameUUIDFromBytes((queue + tier).getBytes(StandardCharsets.UTF_8)).toString()))
+                    .append(",\"queueType\":").append(quote(queue))
+                    .append(",\"tier\":").append(quote(tier))
+                    .append(",\"rank\":").append(quote(division));
+            fields(json, summonerId, summonerId.hashCode() & Integer.MAX_VALUE);
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Builds the league list of an apex tier.
+     *
+     * @param tier  the apex tier
+     * @param queue the queue type
+     * @return the JSON body
+     */
+    private static String leagueList(String tier, String queue) {
+        StringBuilder json = new StringBuilder(APEX_SIZE * 220)
+                .append("{\"tier\":").append(quote(tier))
+                .append(",\"leagueId\":").append(quote(UUID.nameUUIDFromBytes((queue + tier).getBytes(StandardCharsets.UTF_8)).toString()))
+                .append(",\"queue\":").append(quote(queue))
+                .append(",\"name\":\"Simulated League\",\"entries\":[");
+        for (int i = 0; i < APEX_SIZE; i++) {
+            if (i > 0) json.append(',');
+            String summonerId = SUMMONER_PREFIX + queue + "-" + tier + "-" + i;
+            json.append("{\"rank\":\"I\"");
+            fields(json, summonerId, summonerId.hashCode() & Integer.MAX_VALUE);
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Appends a complete league entry object.
+     *
+     * @param json       the buffer
+     * @param summonerId the summoner ID
+     * @param queueType  the queue type
+     * @param tier       the tier
+     * @param hash       the seed of the remaining fields
+     */
+    private static void entry(StringBuilder json, String summonerId, String queueType, String tier, int hash) {
+        json.append("{\"leagueId\":").append(quote(UUID.nameUUIDFromBytes((queueType + tier).getBytes(StandardCharsets.UTF_8)).toString()))
+                .append(",\"queueType\":").append(quote(queueType))
+                .append(",\"tier\":").append(quote(tier))
+                .append(",\"rank\":").append(quote(tier.equals("MASTER") || tier.equals("GRANDMASTER") || tier.equals("CHALLENGER") ? "I" : DIVISIONS[hash % 4]));
+        fields(json, summonerId, hash);
+    }
+
+    /**
+     * Appends the summoner, points and flag fields of an entry and closes the object.
+     *
+     * @param json       the buffer, positioned after a field of an open entry object
+     * @param summonerId the summoner ID
+     * @param hash       the seed of the fields
+     */
+    private static void fields(StringBuilder json, String summonerId, int hash) {
+        int wins = 10 + hash % 400;
+        json.append(",\"summonerId\":").append(quote(summonerId))
+                .append(",\"leaguePoints\":").append(hash % 100)
+                .append(",\"wins\":").append(wins)
+                .append(",\"losses\":").append(wins - 20 + (hash >>> 12) % 40)
+                .append(",\"veteran\":").append(hash % 7 == 0)
+                .append(",\"inactive\":false")
+                .append(",\"freshBlood\":").append(hash % 5 == 0)
+                .append(",\"hotStreak\":").append(hash % 3 == 0)
+                .append('}');
+    }
+
+    /**
+     * Returns the index of a value in an array.
+     *
+     * @param values the array
+     * @param value  the value
+     * @return the index, or -1 if absent
+     */
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) if (values[i].equals(value)) return i;
+        return -1;
+    }
+
+    /**
+     * Builds the status body the Riot Games API returns for errors.
+     *
+     * @param code    the status code
+     * @param message the message
+     * @return the JSON body
+     */
+    private static String status(int code, String message) {
+        return "{\"status\":{\"message\":" + quote(message) + ",\"status_code\":" + code + "}}";
+    }
+
+    /**
+     * Decodes a path segment.
+     *
+     * @param segment the raw path segment
+     * @return the decoded segment
+     */
+    private static String decode(String segment) {
+        return URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     *
+     * @param value the string
+     * @return the literal
+     */
+    private static String quote(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') json.append('\\').append(c);
+            else if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+            else json.append(c);
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Sends a response.
+     *
+     * @param exchange   the exchange
+     * @param statusCode the status code
+     * @param body       the JSON body
+     * @throws IOException if the response could not be written
+     */
+    private static void send(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * A set of fixed windows enforced like the Riot Games API does, e.g. {@code 20:1,100:120}.
+     * Instances are guarded by their own monitor.
+     */
+    private static class RateLimit {
+
+        // Attributes
+        private final int[] limits;
+        private final long[] lengths;
+        private final long[] starts;
+        private final int[] counts;
+
+        /**
+         * Constructs a RateLimit from a header value.
+         *
+         * @param header the limits in the header format
+         * @throws IllegalArgumentException if the header is malformed
+         */
+        private RateLimit(String header) {
+            ArrayList<long[]> windows = new ArrayList<>();
+            for (String window : header.split(",")) {
+                String[] parts = window.trim().split(":");
+                if (parts.length != 2) throw new IllegalArgumentException("Malformed rate limit: " + header);
+                try {
+                    windows.add(new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1]) * 1000});
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Malformed rate limit: " + header);
+                }
+            }
+            limits = new int[windows.size()];
+            lengths = new long[windows.size()];
+            starts = new long[windows.size()];
+            counts = new int[windows.size()];
+            for (int i = 0; i < limits.length; i++) {
+                limits[i] = (int) windows.get(i)[0];
+                lengths[i] = windows.get(i)[1];
+            }
+        }
+
+        /**
+         * Counts a request in every window if it fits into all of them.
+         *
+         * @param now the current time in milliseconds
+         * @return 0 if the request was admitted, otherwise the time until it would fit in milliseconds
+         */
+        private synchronized long acquire(long now) {
+            long wait = 0;
+            for (int i = 0; i < limits.length; i++) {
+                if (now - starts[i] >= lengths[i]) {
+                    starts[i] = now;
+                    counts[i] = 0;
+                }
+                if (counts[i] >= limits[i]) wait = Math.max(wait, starts[i] + lengths[i] - now);
+            }
+            if (wait > 0) return wait;
+            for (int i = 0; i < counts.length; i++) counts[i]++;
+            return 0;
+        }
+
+        /**
+         * Returns the counts of the windows in the header format.
+         *
+         * @param now the current time in milliseconds
+         * @return the counts, e.g. {@code 3:1,42:120}
+         */
+        private synchronized String getCounts(long now) {
+            StringBuilder header = new StringBuilder();
+            for (int i = 0; i < limits.length; i++) {
+                if (i > 0) header.append(',');
+                header.append(now - starts[i] >= lengths[i] ? 0 : counts[i]).append(':').append(lengths[i] / 1000);
+            }
+            return header.toString();
+        }
+    }
+}